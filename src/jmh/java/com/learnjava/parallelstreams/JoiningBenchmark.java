@@ -0,0 +1,56 @@
+package com.learnjava.parallelstreams;
+
+import com.learnjava.util.DataSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JoiningBenchmark {
+
+    @Param({"1000", "10000"})
+    int size;
+
+    List<String> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ids = DataSet.generateIntegerList(size).stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    // quadratic copying, which is why the sizes stay small
+    @Benchmark
+    public String reduce() {
+        return ids.parallelStream().reduce("", (s1, s2) -> s1 + s2);
+    }
+
+    @Benchmark
+    public String collectorsJoining() {
+        return ids.parallelStream().collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public String ropeJoining() {
+        return ids.parallelStream().collect(RopeJoiningCollector.joining(","));
+    }
+}
@@ -0,0 +1,81 @@
+package com.learnjava.parallelstreams;
+
+import com.learnjava.util.DataSet;
+import com.learnjava.util.IntList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelStreamPerformanceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    ParallelStreamPerformance parallelStreamPerformance = new ParallelStreamPerformance();
+
+    ArrayList<Integer> boxedList;
+    int[] primitiveArray;
+    IntList intList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boxedList = DataSet.generateArrayList(size);
+        primitiveArray = IntStream.rangeClosed(1, size).toArray();
+        intList = DataSet.generateIntList(size);
+    }
+
+    @Benchmark
+    public int sum_using_intstream() {
+        return parallelStreamPerformance.sum_using_intstream_untimed(size, parallel);
+    }
+
+    @Benchmark
+    public int sum_using_iterate() {
+        return parallelStreamPerformance.sum_using_iterate_untimed(size, parallel);
+    }
+
+    // boxed source: List<Integer> unboxed through mapToInt
+    @Benchmark
+    public int sum_using_list() {
+        return parallelStreamPerformance.sum_using_list_untimed(boxedList, parallel);
+    }
+
+    // primitive list from DataSet, no unboxing
+    @Benchmark
+    public int sum_using_intList() {
+        return parallelStreamPerformance.sum_using_intList_untimed(intList, parallel);
+    }
+
+    // primitive source: same data held in an int[], no unboxing
+    @Benchmark
+    public int sum_using_int_array() {
+        IntStream intStream = Arrays.stream(primitiveArray);
+        if (parallel) {
+            intStream = intStream.parallel();
+        }
+        return intStream.sum();
+    }
+}
@@ -0,0 +1,81 @@
+package com.learnjava.parallelstreams;
+
+import com.learnjava.util.DataSet;
+import com.learnjava.util.UnrolledLinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpliteratorBenchmark {
+
+    private static final int MULTIPLY_VALUE = 2;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    ArrayListSpliteratorExample arrayListSpliteratorExample = new ArrayListSpliteratorExample();
+    LinkedListSpliteratorExample linkedListSpliteratorExample = new LinkedListSpliteratorExample();
+
+    ArrayList<Integer> arrayList;
+    LinkedList<Integer> linkedList;
+    UnrolledLinkedList<Integer> unrolledLinkedList;
+    int[] primitiveArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        arrayList = DataSet.generateArrayList(size);
+        linkedList = DataSet.generateIntegerLinkedList(size);
+        unrolledLinkedList = DataSet.generateIntegerUnrolledLinkedList(size);
+        primitiveArray = IntStream.rangeClosed(1, size).toArray();
+    }
+
+    @Benchmark
+    public List<Integer> multiplyEachValue_arrayList() {
+        return arrayListSpliteratorExample.multiplyEachValue_untimed(arrayList, MULTIPLY_VALUE, parallel);
+    }
+
+    @Benchmark
+    public List<Integer> multiplyEachValue_linkedList() {
+        return linkedListSpliteratorExample.multiplyEachValue_untimed(linkedList, MULTIPLY_VALUE, parallel);
+    }
+
+    @Benchmark
+    public List<Integer> multiplyEachValue_unrolledLinkedList() {
+        return linkedListSpliteratorExample.multiplyEachValue_untimed(unrolledLinkedList, MULTIPLY_VALUE, parallel);
+    }
+
+    // primitive baseline for the boxed variants above
+    @Benchmark
+    public int[] multiplyEachValue_intArray() {
+        IntStream intStream = Arrays.stream(primitiveArray);
+        if (parallel) {
+            intStream = intStream.parallel();
+        }
+        return intStream.map(value -> value * MULTIPLY_VALUE).toArray();
+    }
+}
@@ -0,0 +1,142 @@
+package com.learnjava.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Size bounded cache with a time-to-live per entry. Lookups read the ConcurrentHashMap without locking;
+// the eviction policy is updated under a lock, and on a hit that update is skipped when the lock is busy
+// (losing a little recency information instead of making readers wait).
+public class BoundedCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final EvictionPolicy<K> evictionPolicy;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public BoundedCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, new LruEvictionPolicy<>());
+    }
+
+    public BoundedCache(int maximumSize, Duration timeToLive, EvictionPolicy<K> evictionPolicy) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1 : " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    // returns null when the key is absent or expired
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            remove(key, entry);
+            entry = null;
+        }
+        boolean hit = entry != null;
+        (hit ? hitCount : missCount).increment();
+        if (policyLock.tryLock()) {
+            try {
+                evictionPolicy.onGet(key, hit);
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return hit ? entry.value : null;
+    }
+
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + timeToLiveNanos);
+        policyLock.lock();
+        try {
+            if (entries.replace(key, entry) != null) {
+                evictionPolicy.onPut(key);
+                return;
+            }
+            if (entries.size() >= maximumSize) {
+                K victim = evictionPolicy.victim();
+                if (!evictionPolicy.admit(key, victim)) {
+                    return;
+                }
+                entries.remove(victim);
+                evictionPolicy.onRemove(victim);
+                evictionCount.increment();
+            }
+            entries.put(key, entry);
+            evictionPolicy.onPut(key);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        policyLock.lock();
+        try {
+            if (entries.remove(key) != null) {
+                evictionPolicy.onRemove(key);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    // entries removed because the cache was full or their time-to-live had passed
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    public double hitRate() {
+        long hits = hitCount();
+        long requests = hits + missCount();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    private void remove(K key, Entry<V> expiredEntry) {
+        policyLock.lock();
+        try {
+            if (entries.remove(key, expiredEntry)) {
+                evictionPolicy.onRemove(key);
+                evictionCount.increment();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.learnjava.cache;
+
+// Decides which key leaves a full BoundedCache. BoundedCache calls every method while holding its lock,
+// so implementations do not need to be thread safe.
+public interface EvictionPolicy<K> {
+
+    void onGet(K key, boolean hit);
+
+    void onPut(K key);
+
+    void onRemove(K key);
+
+    // key to evict when the cache is full
+    K victim();
+
+    // whether a new key should replace the victim, or be dropped instead
+    default boolean admit(K candidate, K victim) {
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.learnjava.cache;
+
+import java.util.LinkedHashMap;
+
+public class LruEvictionPolicy<K> implements EvictionPolicy<K> {
+
+    // access ordered, the first key is the least recently used one
+    private final LinkedHashMap<K, Boolean> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public void onGet(K key, boolean hit) {
+        if (hit) {
+            accessOrder.get(key);
+        }
+    }
+
+    @Override
+    public void onPut(K key) {
+        accessOrder.put(key, Boolean.TRUE);
+    }
+
+    @Override
+    public void onRemove(K key) {
+        accessOrder.remove(key);
+    }
+
+    @Override
+    public K victim() {
+        return accessOrder.keySet().iterator().next();
+    }
+}
@@ -0,0 +1,92 @@
+package com.learnjava.cache;
+
+// LRU eviction with TinyLFU admission: a new key only replaces the LRU victim if it has been
+// requested more often recently. Frequencies live in a count-min sketch of 4-bit counters which
+// are halved every sampleSize increments, so old popularity fades away.
+public class TinyLfuEvictionPolicy<K> implements EvictionPolicy<K> {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final LruEvictionPolicy<K> lru = new LruEvictionPolicy<>();
+    private final int[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    public TinyLfuEvictionPolicy(int maximumSize) {
+        int width = Integer.highestOneBit(Math.max(16, maximumSize * 2 - 1)) << 1;
+        this.counters = new int[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * Math.max(16, maximumSize);
+    }
+
+    @Override
+    public void onGet(K key, boolean hit) {
+        increment(key);
+        lru.onGet(key, hit);
+    }
+
+    @Override
+    public void onPut(K key) {
+        lru.onPut(key);
+    }
+
+    @Override
+    public void onRemove(K key) {
+        lru.onRemove(key);
+    }
+
+    @Override
+    public K victim() {
+        return lru.victim();
+    }
+
+    @Override
+    public boolean admit(K candidate, K victim) {
+        return frequency(candidate) > frequency(victim);
+    }
+
+    int frequency(K key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[row][index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private void increment(K key) {
+        int hash = spread(key.hashCode());
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+            }
+        }
+        if (++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * SEEDS[row];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xED5AD4BB;
+        return hash ^ (hash >>> 11);
+    }
+}
@@ -1,10 +1,10 @@
 package com.learnjava.completablefuture;
 
+import com.learnjava.executor.ExecutorRegistry;
 import com.learnjava.service.HelloWorldService;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static com.learnjava.util.CommonUtil.*;
 import static com.learnjava.util.LoggerUtil.log;
@@ -129,10 +129,10 @@ public class CompletableFutureHelloWorld {
     public String helloworld_3_async_calls_custom_threadpool(){
         startTimer();
 
-        ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
-        CompletableFuture<String> hello = CompletableFuture.supplyAsync(()->hws.hello(),executorService);
-        CompletableFuture<String> world = CompletableFuture.supplyAsync(()->hws.world(),executorService);
-        CompletableFuture<String> hiCompletableFuture =  CompletableFuture.supplyAsync(()->{
+        ExecutorService executorService = ExecutorRegistry.shared().blockingIo(); // shared, not a new pool per call
+        CompletableFuture<String> hello = ExecutorRegistry.supplyAsync(()->hws.hello(),executorService);
+        CompletableFuture<String> world = ExecutorRegistry.supplyAsync(()->hws.world(),executorService);
+        CompletableFuture<String> hiCompletableFuture =  ExecutorRegistry.supplyAsync(()->{
             delay(1000);
             return " Hi CompletableFuture!";
         },executorService);
@@ -159,10 +159,10 @@ public class CompletableFutureHelloWorld {
     public String helloworld_3_async_calls_custom_threadpool_async(){
         startTimer();
 
-        ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
-        CompletableFuture<String> hello = CompletableFuture.supplyAsync(()->hws.hello(),executorService);
-        CompletableFuture<String> world = CompletableFuture.supplyAsync(()->hws.world(),executorService);
-        CompletableFuture<String> hiCompletableFuture =  CompletableFuture.supplyAsync(()->{
+        ExecutorService executorService = ExecutorRegistry.shared().blockingIo(); // shared, not a new pool per call
+        CompletableFuture<String> hello = ExecutorRegistry.supplyAsync(()->hws.hello(),executorService);
+        CompletableFuture<String> world = ExecutorRegistry.supplyAsync(()->hws.world(),executorService);
+        CompletableFuture<String> hiCompletableFuture =  ExecutorRegistry.supplyAsync(()->{
             delay(1000);
             return " Hi CompletableFuture!";
         },executorService);
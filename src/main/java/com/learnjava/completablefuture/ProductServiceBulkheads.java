@@ -0,0 +1,21 @@
+package com.learnjava.completablefuture;
+
+import com.learnjava.executor.BulkheadExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+// Executor per downstream service, so one slow dependency can only use up its own threads
+public record ProductServiceBulkheads(Executor productInfoExecutor, Executor reviewExecutor, Executor inventoryExecutor) {
+
+    public static ProductServiceBulkheads commonPool() {
+        ForkJoinPool commonPool = ForkJoinPool.commonPool();
+        return new ProductServiceBulkheads(commonPool, commonPool, commonPool);
+    }
+
+    public static ProductServiceBulkheads bounded(int maxConcurrency, int queueCapacity) {
+        return new ProductServiceBulkheads(new BulkheadExecutor("productInfo", maxConcurrency, queueCapacity),
+                new BulkheadExecutor("review", maxConcurrency, queueCapacity),
+                new BulkheadExecutor("inventory", maxConcurrency, queueCapacity));
+    }
+}
@@ -4,18 +4,34 @@ import com.learnjava.domain.*;
 import com.learnjava.service.InventoryService;
 import com.learnjava.service.ProductInfoService;
 import com.learnjava.service.ReviewService;
+import com.learnjava.util.LatencyTimer;
+import com.learnjava.util.LatencyTimers;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static com.learnjava.util.CommonUtil.stopWatch;
+import static com.learnjava.util.CommonUtil.timeTaken;
 import static com.learnjava.util.LoggerUtil.log;
 
 public class ProductServiceUsingCompletablaFuture {
+    private static final LatencyTimer productDetailsTimer = LatencyTimers.timer("productService.retrieveProductDetails");
+    private static final LatencyTimer productDetailsWithInventoryTimer = LatencyTimers.timer("productService.retrieveProductDetailsWithInventory");
+    private static final LatencyTimer productDetailsWithInventoryApproach2Timer = LatencyTimers.timer("productService.retrieveProductDetailsWithInventory.approach2");
+    private static final LatencyTimer bulkProductDetailsTimer = LatencyTimers.timer("productService.retrieveProductDetails.bulk");
+
     private ProductInfoService productInfoService;
     private ReviewService reviewService;
     private InventoryService inventoryervice;
+    private ProductServiceBulkheads bulkheads = ProductServiceBulkheads.commonPool();
+    private boolean bulkheadsConfigured;
 
     public ProductServiceUsingCompletablaFuture(ProductInfoService productInfoService, ReviewService reviewService) {
         this.productInfoService = productInfoService;
@@ -28,20 +44,28 @@ public class ProductServiceUsingCompletablaFuture {
         this.inventoryervice = inventoryervice;
     }
 
+    public ProductServiceUsingCompletablaFuture(ProductInfoService productInfoService, ReviewService reviewService, InventoryService inventoryervice,
+                                                ProductServiceBulkheads bulkheads) {
+        this(productInfoService, reviewService, inventoryervice);
+        if (bulkheads != null) {
+            this.bulkheads = bulkheads;
+            this.bulkheadsConfigured = true;
+        }
+    }
+
     public Product retrieveProductDetails(String productId) {
-        stopWatch.start();
+        long startToken = productDetailsTimer.start();
 
         CompletableFuture<ProductInfo> cfProductInfo = CompletableFuture
-                .supplyAsync(() -> productInfoService.retrieveProductInfo(productId));
+                .supplyAsync(() -> productInfoService.retrieveProductInfo(productId), bulkheads.productInfoExecutor());
         CompletableFuture<Review> cfReview = CompletableFuture
-                .supplyAsync(() -> reviewService.retrieveReviews(productId));
+                .supplyAsync(() -> reviewService.retrieveReviews(productId), bulkheads.reviewExecutor());
 
         Product product = cfProductInfo
                 .thenCombine(cfReview, (productInfo, review) -> new Product(productId, productInfo, review))
                 .join(); //block the thread
 
-        stopWatch.stop();
-        log("Total Time Taken : " + stopWatch.getTime());
+        timeTaken(productDetailsTimer, startToken);
         return product;
     }
 
@@ -49,9 +73,9 @@ public class ProductServiceUsingCompletablaFuture {
     public CompletableFuture<Product> retrieveProductDetails_approach2(String productId) {
 
         CompletableFuture<ProductInfo> cfProductInfo = CompletableFuture
-                .supplyAsync(() -> productInfoService.retrieveProductInfo(productId));
+                .supplyAsync(() -> productInfoService.retrieveProductInfo(productId), bulkheads.productInfoExecutor());
         CompletableFuture<Review> cfReview = CompletableFuture
-                .supplyAsync(() -> reviewService.retrieveReviews(productId));
+                .supplyAsync(() -> reviewService.retrieveReviews(productId), bulkheads.reviewExecutor());
 
         return cfProductInfo
                 .thenCombine(cfReview, (productInfo, review) -> new Product(productId, productInfo, review));
@@ -59,42 +83,88 @@ public class ProductServiceUsingCompletablaFuture {
     }
 
 
+    public List<Product> retrieveProductDetails(List<String> productIds, int maxInFlight) {
+        return retrieveProductDetails(productIds, maxInFlight, product -> {
+        });
+    }
+
+    // At most maxInFlight products are fetched at a time, on the configured bulkheads or else on virtual threads
+    // rather than the common pool. A product the bulkheads reject fails the whole call.
+    // Every product is handed to onProduct as soon as it is complete (possibly from several threads at once),
+    // and the returned list is in completion order.
+    public List<Product> retrieveProductDetails(List<String> productIds, int maxInFlight, Consumer<Product> onProduct) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1 : " + maxInFlight);
+        }
+        long startToken = bulkProductDetailsTimer.start();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<Product> products = Collections.synchronizedList(new ArrayList<>(productIds.size()));
+        List<CompletableFuture<Void>> productFutures = new ArrayList<>(productIds.size());
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            ProductServiceBulkheads executors = bulkheadsConfigured ? bulkheads
+                    : new ProductServiceBulkheads(virtualThreads, virtualThreads, virtualThreads);
+            for (String productId : productIds) {
+                inFlight.acquireUninterruptibly();
+                CompletableFuture<ProductInfo> cfProductInfo;
+                CompletableFuture<Review> cfReview;
+                try {
+                    cfProductInfo = CompletableFuture
+                            .supplyAsync(() -> productInfoService.retrieveProductInfo(productId), executors.productInfoExecutor());
+                    cfReview = CompletableFuture
+                            .supplyAsync(() -> reviewService.retrieveReviews(productId), executors.reviewExecutor());
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+
+                productFutures.add(cfProductInfo
+                        .thenCombine(cfReview, (productInfo, review) -> new Product(productId, productInfo, review))
+                        .whenComplete((product, ex) -> inFlight.release())
+                        .thenAccept(product -> {
+                            products.add(product);
+                            onProduct.accept(product);
+                        }));
+            }
+            CompletableFuture.allOf(productFutures.toArray(new CompletableFuture[0])).join();
+        }
+
+        timeTaken(bulkProductDetailsTimer, startToken);
+        return products;
+    }
+
     public Product retrieveProductDetailsWithInventory(String productId) {
-        stopWatch.start();
+        long startToken = productDetailsWithInventoryTimer.start();
 
         CompletableFuture<ProductInfo> cfProductInfo = CompletableFuture
-                .supplyAsync(() -> productInfoService.retrieveProductInfo(productId))
-                .thenApply(productInfo -> {
+                .supplyAsync(() -> productInfoService.retrieveProductInfo(productId), bulkheads.productInfoExecutor())
+                .thenApplyAsync(productInfo -> {
                     productInfo.setProductOptions(updateInventory(productInfo));
                     return productInfo;
-                });
+                }, bulkheads.inventoryExecutor());
 
 
         CompletableFuture<Review> cfReview = CompletableFuture
-                .supplyAsync(() -> reviewService.retrieveReviews(productId));
+                .supplyAsync(() -> reviewService.retrieveReviews(productId), bulkheads.reviewExecutor());
 
         Product product = cfProductInfo
                 .thenCombine(cfReview, (productInfo, review) -> new Product(productId, productInfo, review))
                 .join(); //block the thread
 
-        stopWatch.stop();
-        log("Total Time Taken : " + stopWatch.getTime());
+        timeTaken(productDetailsWithInventoryTimer, startToken);
         return product;
     }
 
     public Product retrieveProductDetailsWithInventory_approach2(String productId) {
-        stopWatch.start();
+        long startToken = productDetailsWithInventoryApproach2Timer.start();
 
         CompletableFuture<ProductInfo> cfProductInfo = CompletableFuture
-                .supplyAsync(() -> productInfoService.retrieveProductInfo(productId))
-                .thenApply(productInfo -> {
-                    productInfo.setProductOptions(updateInventory_approach2(productInfo));
-                    return productInfo;
-                });
+                .supplyAsync(() -> productInfoService.retrieveProductInfo(productId), bulkheads.productInfoExecutor())
+                .thenCompose(this::updateInventory_approach2);
 
 
         CompletableFuture<Review> cfReview = CompletableFuture
-                .supplyAsync(() -> reviewService.retrieveReviews(productId))
+                .supplyAsync(() -> reviewService.retrieveReviews(productId), bulkheads.reviewExecutor())
                 .exceptionally((e) -> {
                     log("Handled the Exception in reviewService : " + e.getMessage());
                     return Review.builder()
@@ -109,31 +179,25 @@ public class ProductServiceUsingCompletablaFuture {
                 }))
                 .join(); //block the thread
 
-        stopWatch.stop();
-        log("Total Time Taken : " + stopWatch.getTime());
+        timeTaken(productDetailsWithInventoryApproach2Timer, startToken);
         return product;
     }
 
     private List<ProductOption> updateInventory(ProductInfo productInfo) {
 
-        List<ProductOption> productOptionList = productInfo.getProductOptions()
-                .stream()
-                .map(productOption -> {
-                    Inventory inventory = inventoryervice.addInventory(productOption);
-                    productOption.setInventory(inventory);
-                    return productOption;
-                })
-                .collect(Collectors.toList());
-        return productOptionList;
+        return inventoryervice.addInventoryToProducts(List.of(productInfo))
+                .get(0)
+                .getProductOptions();
 
     }
 
-    private List<ProductOption> updateInventory_approach2(ProductInfo productInfo) {
+    // completes once every option has its inventory, without blocking a thread while waiting
+    private CompletableFuture<ProductInfo> updateInventory_approach2(ProductInfo productInfo) {
 
         List<CompletableFuture<ProductOption>> productOptionList = productInfo.getProductOptions()
                 .stream()
                 .map(productOption -> {
-                    return CompletableFuture.supplyAsync(() -> inventoryervice.addInventory(productOption))
+                    return CompletableFuture.supplyAsync(() -> inventoryervice.addInventory(productOption), bulkheads.inventoryExecutor())
                             .exceptionally((e) -> {
                                 log("Handled the Exception in updateInventory : " + e.getMessage());
                                 return Inventory.builder()
@@ -146,7 +210,11 @@ public class ProductServiceUsingCompletablaFuture {
                 })
                 .collect(Collectors.toList());
 
-        return productOptionList.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        return CompletableFuture.allOf(productOptionList.toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    productInfo.setProductOptions(productOptionList.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+                    return productInfo;
+                });
 
     }
 
@@ -9,9 +9,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class CartItem {
 
-    private Integer itemId;
+    private int itemId;
     private String itemName;
     private double rate;
-    private Integer quantity;
+    private int quantity;
     private boolean isExpired;
 }
@@ -0,0 +1,73 @@
+package com.learnjava.domain.checkout;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Column per CartItem field, so pricing a large cart works on primitive arrays without boxing.
+// The columns are only read through indexed accessors, callers never get the arrays.
+public class ColumnarCart {
+
+    private final int[] itemIds;
+    private final int[] quantities;
+    private final double[] rates;
+
+    // copies the caller's arrays
+    public ColumnarCart(int[] itemIds, int[] quantities, double[] rates) {
+        this(itemIds.clone(), quantities.clone(), rates.clone(), true);
+    }
+
+    // takes ownership of arrays nobody else holds, so of() does not copy the columns it just built
+    private ColumnarCart(int[] itemIds, int[] quantities, double[] rates, boolean owned) {
+        if (itemIds.length != quantities.length || itemIds.length != rates.length) {
+            throw new IllegalArgumentException("columns must have the same length");
+        }
+        this.itemIds = itemIds;
+        this.quantities = quantities;
+        this.rates = rates;
+    }
+
+    public static ColumnarCart of(Cart cart) {
+        List<CartItem> cartItemList = cart.getCartItemList();
+        int size = cartItemList.size();
+        int[] itemIds = new int[size];
+        int[] quantities = new int[size];
+        double[] rates = new double[size];
+        for (int i = 0; i < size; i++) {
+            CartItem cartItem = cartItemList.get(i);
+            itemIds[i] = cartItem.getItemId();
+            quantities[i] = cartItem.getQuantity();
+            rates[i] = cartItem.getRate();
+        }
+        return new ColumnarCart(itemIds, quantities, rates, true);
+    }
+
+    public int size() {
+        return itemIds.length;
+    }
+
+    public int itemId(int index) {
+        return itemIds[index];
+    }
+
+    public int quantity(int index) {
+        return quantities[index];
+    }
+
+    public double rate(int index) {
+        return rates[index];
+    }
+
+    public double totalPrice(boolean isParallel) {
+        if (!isParallel) {
+            double total = 0;
+            for (int i = 0; i < quantities.length; i++) {
+                total += quantities[i] * rates[i];
+            }
+            return total;
+        }
+        return IntStream.range(0, quantities.length)
+                .parallel()
+                .mapToDouble(i -> quantities[i] * rates[i])
+                .sum();
+    }
+}
@@ -0,0 +1,147 @@
+package com.learnjava.executor;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread pool that resizes itself between minThreads and maxThreads. Once per adjustInterval (checked on submit,
+// and by a shared background thread so an idle pool shrinks too) it applies Little's law: threads needed =
+// arrival rate * service time, plus enough threads to drain the current queue within one interval. When tasks
+// waited in the queue for more than MAX_WAIT_RATIO of their service time, the pool also grows to
+// poolSize * (1 + wait / service), the size at which the same work would not have queued.
+// It grows straight to the target and shrinks at most by half per step.
+public class AdaptiveThreadPoolExecutor extends ThreadPoolExecutor {
+
+    public record SizingDecision(int previousPoolSize, int newPoolSize, double arrivalRatePerSecond,
+                                 double serviceTimeMillis, double waitTimeMillis, int queueDepth) {
+    }
+
+    static final double MAX_WAIT_RATIO = 0.1;
+
+    private static final ScheduledExecutorService RESIZER =
+            Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("adaptive-pool-resizer"));
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final long adjustIntervalNanos;
+
+    private final AtomicLong lastAdjustment = new AtomicLong(System.nanoTime());
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder serviceNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder resizeCount = new LongAdder();
+    private volatile double lastServiceTimeNanos;
+    private volatile SizingDecision lastDecision;
+    private final ScheduledFuture<?> periodicCheck;
+
+    public AdaptiveThreadPoolExecutor(String name, int minThreads, int maxThreads, Duration adjustInterval) {
+        super(minThreads, minThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreadFactory(name));
+        if (minThreads < 1 || maxThreads < minThreads) {
+            throw new IllegalArgumentException("invalid pool bounds : " + minThreads + " - " + maxThreads);
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.adjustIntervalNanos = adjustInterval.toNanos();
+        this.periodicCheck = RESIZER.scheduleWithFixedDelay(() -> adjustIfDue(System.nanoTime()),
+                adjustIntervalNanos, adjustIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        submitted.increment();
+        long submittedAt = System.nanoTime();
+        super.execute(() -> {
+            long startedAt = System.nanoTime();
+            waitNanos.add(startedAt - submittedAt);
+            try {
+                command.run();
+            } finally {
+                serviceNanos.add(System.nanoTime() - startedAt);
+                completed.increment();
+            }
+        });
+        adjustIfDue(submittedAt);
+    }
+
+    @Override
+    protected void terminated() {
+        periodicCheck.cancel(false);
+        super.terminated();
+    }
+
+    public SizingDecision getLastDecision() {
+        return lastDecision;
+    }
+
+    public long resizeCount() {
+        return resizeCount.sum();
+    }
+
+    // submitters and the periodic check race for the same interval, only the one that wins the CAS adjusts
+    private void adjustIfDue(long now) {
+        long last = lastAdjustment.get();
+        if (now - last >= adjustIntervalNanos && lastAdjustment.compareAndSet(last, now)) {
+            adjustPoolSize(now - last);
+        }
+    }
+
+    // package private so tests can run one step directly
+    void adjustPoolSize(long windowNanos) {
+        long arrivals = submitted.sumThenReset();
+        long completions = completed.sumThenReset();
+        long serviceTotal = serviceNanos.sumThenReset();
+        long waitTotal = waitNanos.sumThenReset();
+
+        double serviceTime = completions > 0 ? (double) serviceTotal / completions : lastServiceTimeNanos;
+        lastServiceTimeNanos = serviceTime;
+        double arrivalRate = arrivals / (double) windowNanos; // tasks per nanosecond
+        int queueDepth = getQueue().size();
+        int currentSize = getCorePoolSize();
+
+        int target;
+        if (serviceTime == 0) {
+            // no task has finished yet, so there is nothing to measure
+            target = queueDepth > 0 ? currentSize * 2 : Math.max(getActiveCount(), currentSize / 2);
+        } else {
+            double busyThreads = arrivalRate * serviceTime;
+            double backlogThreads = queueDepth * serviceTime / adjustIntervalNanos;
+            target = (int) Math.ceil(busyThreads + backlogThreads);
+            double waitRatio = completions > 0 ? (double) waitTotal / completions / serviceTime : 0;
+            if (waitRatio > MAX_WAIT_RATIO) {
+                target = Math.max(target, (int) Math.ceil(currentSize * (1 + waitRatio)));
+            }
+            target = Math.max(target, currentSize / 2);
+        }
+        target = Math.max(minThreads, Math.min(maxThreads, target));
+
+        lastDecision = new SizingDecision(currentSize, target, arrivalRate * 1e9, serviceTime / 1e6,
+                completions > 0 ? waitTotal / 1e6 / completions : 0, queueDepth);
+        if (target > currentSize) {
+            setMaximumPoolSize(target);
+            setCorePoolSize(target);
+            resizeCount.increment();
+        } else if (target < currentSize) {
+            setCorePoolSize(target);
+            setMaximumPoolSize(target);
+            resizeCount.increment();
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
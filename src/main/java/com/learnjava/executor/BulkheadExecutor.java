@@ -0,0 +1,66 @@
+package com.learnjava.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded executor reserved for one downstream dependency: at most maxConcurrency calls run and at most
+// queueCapacity wait, anything beyond that is rejected right away instead of piling up.
+public class BulkheadExecutor implements Executor {
+
+    private final String name;
+    private final ThreadPoolExecutor threadPoolExecutor;
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public BulkheadExecutor(String name, int maxConcurrency, int queueCapacity) {
+        this.name = name;
+        BlockingQueue<Runnable> queue = queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.threadPoolExecutor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60L, TimeUnit.SECONDS, queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> {
+                    rejectedCount.increment();
+                    throw new RejectedExecutionException(name + " bulkhead is full");
+                });
+        this.threadPoolExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        threadPoolExecutor.execute(command);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int activeCount() {
+        return threadPoolExecutor.getActiveCount();
+    }
+
+    public int queuedCount() {
+        return threadPoolExecutor.getQueue().size();
+    }
+
+    public long completedCount() {
+        return threadPoolExecutor.getCompletedTaskCount();
+    }
+
+    public void shutdown() {
+        threadPoolExecutor.shutdown();
+    }
+}
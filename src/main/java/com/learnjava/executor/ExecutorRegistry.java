@@ -0,0 +1,283 @@
+package com.learnjava.executor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Shared, named executors instead of a new pool per call or per class. A pool is created on first use, tasks
+// are counted per pool, and shutdown() stops the pools in reverse creation order. The registry owns the pools:
+// callers must not shut down an executor they got from it.
+public class ExecutorRegistry {
+
+    public static final String CPU_POOL = "cpu";
+    public static final String BLOCKING_IO_POOL = "blocking-io";
+    public static final String VIRTUAL_POOL = "virtual";
+
+    private static final ExecutorRegistry SHARED = new ExecutorRegistry(Runtime.getRuntime().availableProcessors(), 64);
+
+    public enum PoolType {
+        // one thread per core, for work that never blocks
+        CPU,
+        // many threads for blocking calls, idle threads time out
+        BLOCKING_IO,
+        // a virtual thread per task
+        VIRTUAL
+    }
+
+    // CompletableFuture's async tasks keep a failure in the dependent future, out of the pool's sight, so they are
+    // counted as unknownOutcome rather than completed or failed, unless the task was started through supplyAsync below
+    public record PoolMetrics(String name, long submitted, long completed, long failed, long cancelled,
+                              long unknownOutcome, long rejected, long active) {
+    }
+
+    private final int cpuThreads;
+    private final int blockingIoThreads;
+    private final Map<String, MeteredExecutorService> pools = new ConcurrentHashMap<>();
+    private final List<MeteredExecutorService> creationOrder = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean shutdown;
+
+    public ExecutorRegistry(int cpuThreads, int blockingIoThreads) {
+        if (cpuThreads < 1 || blockingIoThreads < 1) {
+            throw new IllegalArgumentException("thread counts must be at least 1");
+        }
+        this.cpuThreads = cpuThreads;
+        this.blockingIoThreads = blockingIoThreads;
+    }
+
+    public static ExecutorRegistry shared() {
+        return SHARED;
+    }
+
+    public ExecutorService cpu() {
+        return executor(CPU_POOL, PoolType.CPU);
+    }
+
+    public ExecutorService blockingIo() {
+        return executor(BLOCKING_IO_POOL, PoolType.BLOCKING_IO);
+    }
+
+    public ExecutorService virtual() {
+        return executor(VIRTUAL_POOL, PoolType.VIRTUAL);
+    }
+
+    public ExecutorService executor(String name, PoolType type) {
+        return executor(name, () -> newPool(name, type));
+    }
+
+    // the factory only runs the first time name is asked for, later calls get the same pool. Pools are created
+    // under the same lock shutdown() takes, so none can be created after shutdown() has collected the pools to stop
+    public ExecutorService executor(String name, Supplier<ExecutorService> factory) {
+        checkNotShutdown();
+        MeteredExecutorService existing = pools.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (creationOrder) {
+            checkNotShutdown();
+            return pools.computeIfAbsent(name, poolName -> {
+                MeteredExecutorService pool = new MeteredExecutorService(poolName, factory.get());
+                creationOrder.add(pool);
+                return pool;
+            });
+        }
+    }
+
+    // CompletableFuture.supplyAsync with the supplier's outcome counted as completed or failed: the supplier is
+    // wrapped, so a failure is seen before the future keeps it. Dependent *Async stages still count as unknownOutcome
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, ExecutorService executor) {
+        if (executor instanceof MeteredExecutorService meteredExecutor) {
+            return CompletableFuture.supplyAsync(meteredExecutor.metered(supplier), executor);
+        }
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    public List<PoolMetrics> metrics() {
+        synchronized (creationOrder) {
+            return creationOrder.stream()
+                    .map(MeteredExecutorService::metrics)
+                    .toList();
+        }
+    }
+
+    public PoolMetrics metrics(String name) {
+        MeteredExecutorService pool = pools.get(name);
+        return pool == null ? null : pool.metrics();
+    }
+
+    // stops accepting work everywhere, then waits up to timeout in total for running tasks before interrupting them;
+    // returns true when every pool terminated in time
+    public boolean shutdown(Duration timeout) throws InterruptedException {
+        List<MeteredExecutorService> stopOrder;
+        synchronized (creationOrder) {
+            shutdown = true;
+            stopOrder = new ArrayList<>(creationOrder);
+        }
+        Collections.reverse(stopOrder);
+        stopOrder.forEach(ExecutorService::shutdown);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean terminated = true;
+        for (MeteredExecutorService pool : stopOrder) {
+            if (!pool.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                pool.shutdownNow();
+                terminated = false;
+            }
+        }
+        return terminated;
+    }
+
+    private void checkNotShutdown() {
+        if (shutdown) {
+            throw new IllegalStateException("executor registry is shut down");
+        }
+    }
+
+    private ExecutorService newPool(String name, PoolType type) {
+        return switch (type) {
+            case CPU -> new ThreadPoolExecutor(cpuThreads, cpuThreads, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), daemonThreadFactory(name));
+            case BLOCKING_IO -> {
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(blockingIoThreads, blockingIoThreads, 60L, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), daemonThreadFactory(name));
+                executor.allowCoreThreadTimeOut(true);
+                yield executor;
+            }
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+        };
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // counts every task passing through execute(), which submit() and invokeAll() also go through
+    private static class MeteredExecutorService extends AbstractExecutorService {
+        private final String name;
+        private final ExecutorService delegate;
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder unknownOutcome = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder active = new LongAdder();
+        // set by a metered supplier once it has counted its own outcome, so run() does not count the task again
+        private final ThreadLocal<Boolean> outcomeCounted = ThreadLocal.withInitial(() -> false);
+
+        MeteredExecutorService(String name, ExecutorService delegate) {
+            this.name = name;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            submitted.increment();
+            try {
+                delegate.execute(() -> run(task));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                throw e;
+            }
+        }
+
+        private void run(Runnable task) {
+            active.increment();
+            try {
+                task.run();
+                if (!outcomeCounted.get()) {
+                    outcomeOf(task).increment();
+                }
+            } catch (RuntimeException | Error e) {
+                failed.increment();
+                throw e;
+            } finally {
+                outcomeCounted.remove();
+                active.decrement();
+            }
+        }
+
+        <T> Supplier<T> metered(Supplier<T> supplier) {
+            return () -> {
+                outcomeCounted.set(true);
+                try {
+                    T result = supplier.get();
+                    completed.increment();
+                    return result;
+                } catch (RuntimeException | Error e) {
+                    failed.increment();
+                    throw e;
+                }
+            };
+        }
+
+        // submit() wraps the task in a FutureTask, which keeps the exception instead of throwing it
+        private LongAdder outcomeOf(Runnable task) {
+            if (task instanceof CompletableFuture.AsynchronousCompletionTask) {
+                return unknownOutcome;
+            }
+            if (task instanceof Future<?> future && future.isDone()) {
+                return switch (future.state()) {
+                    case FAILED -> failed;
+                    case CANCELLED -> cancelled;
+                    default -> completed;
+                };
+            }
+            return completed;
+        }
+
+        PoolMetrics metrics() {
+            return new PoolMetrics(name, submitted.sum(), completed.sum(), failed.sum(), cancelled.sum(),
+                    unknownOutcome.sum(), rejected.sum(), active.sum());
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + delegate;
+        }
+    }
+}
@@ -3,44 +3,92 @@ package com.learnjava.executor;
 import com.learnjava.domain.Product;
 import com.learnjava.domain.ProductInfo;
 import com.learnjava.domain.Review;
+import com.learnjava.service.InventoryService;
 import com.learnjava.service.ProductInfoService;
 import com.learnjava.service.ReviewService;
+import com.learnjava.util.LatencyTimer;
+import com.learnjava.util.LatencyTimers;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import static com.learnjava.util.CommonUtil.stopWatch;
+import static com.learnjava.util.CommonUtil.timeTaken;
 import static com.learnjava.util.LoggerUtil.log;
 
 public class ProductServiceUsingExecutor {
 
-    static ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    private static final LatencyTimer productDetailsTimer = LatencyTimers.timer("productServiceUsingExecutor.retrieveProductDetails");
+    private static final String EXECUTOR_NAME = "productServiceUsingExecutor";
     private ProductInfoService productInfoService;
     private ReviewService reviewService;
+    private InventoryService inventoryService;
 
     public ProductServiceUsingExecutor(ProductInfoService productInfoService, ReviewService reviewService) {
         this.productInfoService = productInfoService;
         this.reviewService = reviewService;
     }
 
+    // with an InventoryService, retrieveProductDetails_structured also fills in the inventory of every option
+    public ProductServiceUsingExecutor(ProductInfoService productInfoService, ReviewService reviewService,
+                                       InventoryService inventoryService) {
+        this(productInfoService, reviewService);
+        this.inventoryService = inventoryService;
+    }
+
     public Product retrieveProductDetails(String productId) throws ExecutionException, InterruptedException, TimeoutException {
-        stopWatch.start();
+        long startToken = productDetailsTimer.start();
+        ExecutorService executorService = executorService();
         Future<ProductInfo> productInfoFuture = executorService.submit(()->productInfoService.retrieveProductInfo(productId));
         Future<Review> reviewFuture = executorService.submit(()->reviewService.retrieveReviews(productId));
 
         ProductInfo productInfo = productInfoFuture.get(2, TimeUnit.SECONDS);
         Review review = reviewFuture.get();
 
-        stopWatch.stop();
-        log("Total Time Taken : "+ stopWatch.getTime());
+        timeTaken(productDetailsTimer, startToken);
         return new Product(productId, productInfo, review);
     }
 
+    // ProductInfo (plus inventory) and Review are forked as virtual thread subtasks of one scope. The first failure
+    // or the deadline shuts the scope down, which interrupts the sibling, and the scope does not close until
+    // every subtask has finished, so nothing keeps running after this method returns or throws.
+    public Product retrieveProductDetails_structured(String productId, Duration timeout) throws ExecutionException, InterruptedException, TimeoutException {
+        long startToken = productDetailsTimer.start();
+        try (StructuredTaskScope.ShutdownOnFailure scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            Subtask<ProductInfo> productInfoSubtask = scope.fork(() -> retrieveProductInfo(productId));
+            Subtask<Review> reviewSubtask = scope.fork(() -> reviewService.retrieveReviews(productId));
+
+            scope.joinUntil(Instant.now().plus(timeout));
+            scope.throwIfFailed();
+
+            timeTaken(productDetailsTimer, startToken);
+            return new Product(productId, productInfoSubtask.get(), reviewSubtask.get());
+        }
+    }
+
+    private ProductInfo retrieveProductInfo(String productId) {
+        ProductInfo productInfo = productInfoService.retrieveProductInfo(productId);
+        if (inventoryService != null) {
+            inventoryService.addInventoryToProducts(List.of(productInfo));
+        }
+        return productInfo;
+    }
+
+    // shared through the registry and created on first use; grows past the core count under load,
+    // since the calls are blocking rather than CPU bound
+    static ExecutorService executorService() {
+        return ExecutorRegistry.shared().executor(EXECUTOR_NAME, () -> new AdaptiveThreadPoolExecutor(EXECUTOR_NAME,
+                Runtime.getRuntime().availableProcessors(), 200, Duration.ofMillis(500)));
+    }
+
     public static void main(String[] args) throws ExecutionException, InterruptedException, TimeoutException {
 
         ProductInfoService productInfoService = new ProductInfoService();
@@ -49,7 +97,7 @@ public class ProductServiceUsingExecutor {
         String productId = "ABC123";
         Product product = productService.retrieveProductDetails(productId);
         log("Product is " + product);
-        executorService.shutdown();
+        ExecutorRegistry.shared().shutdown(Duration.ofSeconds(5));
 
     }
 }
@@ -9,7 +9,8 @@ import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.RecursiveTask;
 
 import static com.learnjava.util.CommonUtil.delay;
-import static com.learnjava.util.CommonUtil.stopWatch;
+import static com.learnjava.util.CommonUtil.startTimer;
+import static com.learnjava.util.CommonUtil.timeTaken;
 import static com.learnjava.util.LoggerUtil.log;
 
 public class ForkJoinUsingRecursion extends RecursiveTask<List<String>> {
@@ -21,7 +22,7 @@ public class ForkJoinUsingRecursion extends RecursiveTask<List<String>> {
 
     public static void main(String[] args) {
 
-        stopWatch.start();
+        startTimer();
         List<String> resultList = new ArrayList<>();
         List<String> names = DataSet.namesList();
         ForkJoinPool forkJoinPool = new ForkJoinPool();
@@ -30,9 +31,17 @@ public class ForkJoinUsingRecursion extends RecursiveTask<List<String>> {
         log("names : " + names);
 
 
-        stopWatch.stop();
         log("Final Result : " + resultList);
-        log("Total Time Taken : " + stopWatch.getTime());
+        timeTaken();
+
+        startTimer();
+        log("Final Result approach2 : " + transform_approach2(names, forkJoinPool));
+        timeTaken();
+    }
+
+    // each name is a slow call, so one name per task; the results land in place with no addAll per level
+    public static List<String> transform_approach2(List<String> names, ForkJoinPool forkJoinPool) {
+        return ParallelMap.map(names, ForkJoinUsingRecursion::addNameLengthTransform, 1, forkJoinPool);
     }
 
 
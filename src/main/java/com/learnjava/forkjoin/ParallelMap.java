@@ -0,0 +1,76 @@
+package com.learnjava.forkjoin;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+// Fork join map over a list: ranges are split in half until they are at most sequentialCutoff elements,
+// and every element's result is written straight into its slot of one preallocated array,
+// so nothing is merged or copied on the way back up.
+public class ParallelMap {
+
+    // about this many leaf tasks per worker, enough for work stealing to even out uneven elements
+    private static final int TASKS_PER_WORKER = 4;
+
+    public static <T, R> List<R> map(List<T> inputList, Function<? super T, ? extends R> mapper) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return map(inputList, mapper, sequentialCutoff(inputList.size(), pool.getParallelism()), pool);
+    }
+
+    public static <T, R> List<R> map(List<T> inputList, Function<? super T, ? extends R> mapper, int sequentialCutoff) {
+        return map(inputList, mapper, sequentialCutoff, ForkJoinPool.commonPool());
+    }
+
+    public static <T, R> List<R> map(List<T> inputList, Function<? super T, ? extends R> mapper, int sequentialCutoff,
+                                     ForkJoinPool pool) {
+        if (sequentialCutoff < 1) {
+            throw new IllegalArgumentException("sequentialCutoff must be at least 1 : " + sequentialCutoff);
+        }
+        Object[] input = inputList.toArray();
+        Object[] output = new Object[input.length];
+        pool.invoke(new MapTask<>(input, output, mapper, sequentialCutoff, 0, input.length));
+        @SuppressWarnings("unchecked")
+        List<R> resultList = (List<R>) Arrays.asList(output);
+        return Collections.unmodifiableList(resultList);
+    }
+
+    public static int sequentialCutoff(int size, int parallelism) {
+        return Math.max(1, size / (Math.max(1, parallelism) * TASKS_PER_WORKER));
+    }
+
+    private static class MapTask<T, R> extends RecursiveAction {
+        private final Object[] input;
+        private final Object[] output;
+        private final Function<? super T, ? extends R> mapper;
+        private final int sequentialCutoff;
+        private final int from;
+        private final int to;
+
+        MapTask(Object[] input, Object[] output, Function<? super T, ? extends R> mapper, int sequentialCutoff,
+                int from, int to) {
+            this.input = input;
+            this.output = output;
+            this.mapper = mapper;
+            this.sequentialCutoff = sequentialCutoff;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            if (to - from <= sequentialCutoff) {
+                for (int i = from; i < to; i++) {
+                    output[i] = mapper.apply((T) input[i]);
+                }
+                return;
+            }
+            int midPoint = (from + to) >>> 1;
+            invokeAll(new MapTask<>(input, output, mapper, sequentialCutoff, from, midPoint),
+                    new MapTask<>(input, output, mapper, sequentialCutoff, midPoint, to));
+        }
+    }
+}
@@ -6,13 +6,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static com.learnjava.util.CommonUtil.delay;
-import static com.learnjava.util.CommonUtil.stopWatch;
+import static com.learnjava.util.CommonUtil.startTimer;
+import static com.learnjava.util.CommonUtil.timeTaken;
 import static com.learnjava.util.LoggerUtil.log;
 
 public class StringTransformExample {
     public static void main(String[] args) {
 
-        stopWatch.start();
+        startTimer();
         List<String> resultList = new ArrayList<>();
         List<String> names = DataSet.namesList();
         log("names : "+ names);
@@ -21,9 +22,8 @@ public class StringTransformExample {
             String newValue = addNameLengthTransform(name);
             resultList.add(newValue);
         });
-        stopWatch.stop();
         log("Final Result : "+ resultList);
-        log("Total Time Taken : "+ stopWatch.getTime());
+        timeTaken();
     }
 
 
@@ -11,11 +11,26 @@ public class ArrayListSpliteratorExample {
 
     public List<Integer> multiplyEachValue(ArrayList<Integer> inputList, int multiplyValue, boolean isParallel) {
         startTimer();
+        List<Integer> resultList = multiplyEachValue_untimed(inputList, multiplyValue, isParallel);
+        timeTaken();
+        return resultList;
+    }
+
+    // what the benchmark measures, without the log line
+    List<Integer> multiplyEachValue_untimed(ArrayList<Integer> inputList, int multiplyValue, boolean isParallel) {
         Stream<Integer> integerStream = inputList.stream();
         if(isParallel){
             integerStream = integerStream.parallel();
         }
-        List<Integer> resultList = integerStream.map(integer -> integer * multiplyValue)
+        return integerStream.map(integer -> integer * multiplyValue)
+                .toList();
+    }
+
+    public List<Integer> multiplyEachValue(List<Integer> inputList, int multiplyValue) {
+        startTimer();
+        List<Integer> resultList = ParallelStreamSelector.common()
+                .stream("multiplyEachValue", inputList, 1)
+                .map(integer -> integer * multiplyValue)
                 .toList();
         timeTaken();
         return resultList;
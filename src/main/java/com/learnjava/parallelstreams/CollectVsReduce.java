@@ -30,9 +30,20 @@ public class CollectVsReduce {
         return result;
     }
 
+    public static String collect_rope() {
+        List<String> list = DataSet.namesList();
+
+        String result = list.
+                parallelStream().
+                collect(RopeJoiningCollector.joining());
+
+        return result;
+    }
+
     public static void main(String[] args) {
 
         log("collect : "+ collect());
         log("reduce : "+ reduce());
+        log("collect_rope : "+ collect_rope());
     }
 }
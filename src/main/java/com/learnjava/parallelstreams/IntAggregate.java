@@ -0,0 +1,105 @@
+package com.learnjava.parallelstreams;
+
+import java.util.function.IntConsumer;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+// count, sum, product, min, max and mean in a single pass. Each thread fills its own IntAggregate and
+// the partial results are combined, like IntSummaryStatistics plus a product that reports overflow
+// instead of wrapping around.
+public class IntAggregate implements IntConsumer {
+
+    private long count;
+    private long sum;
+    private long product = 1;
+    private boolean productOverflow;
+    private boolean hasZero;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public static IntAggregate of(IntStream intStream) {
+        return intStream.collect(IntAggregate::new, IntAggregate::accept, IntAggregate::combine);
+    }
+
+    public static Collector<Integer, IntAggregate, IntAggregate> collector() {
+        return Collector.of(IntAggregate::new, IntAggregate::accept, (left, right) -> {
+            left.combine(right);
+            return left;
+        }, Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+    }
+
+    @Override
+    public void accept(int value) {
+        count++;
+        sum = Math.addExact(sum, value);
+        multiply(value);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void combine(IntAggregate other) {
+        count += other.count;
+        sum = Math.addExact(sum, other.sum);
+        hasZero |= other.hasZero;
+        productOverflow |= other.productOverflow;
+        multiply(other.product);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    private void multiply(long value) {
+        if (value == 0) {
+            hasZero = true;
+        }
+        if (hasZero || productOverflow) {
+            return;
+        }
+        try {
+            product = Math.multiplyExact(product, value);
+        } catch (ArithmeticException e) {
+            productOverflow = true;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    // a zero anywhere makes the product 0 even if the other values overflowed
+    public long getProduct() {
+        if (hasZero) {
+            return 0;
+        }
+        if (productOverflow) {
+            throw new ArithmeticException("product overflows long");
+        }
+        return product;
+    }
+
+    public boolean isProductOverflow() {
+        return productOverflow && !hasZero;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? (double) sum / count : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "IntAggregate{count=" + count + ", sum=" + sum
+                + ", product=" + (isProductOverflow() ? "overflow" : getProduct())
+                + ", min=" + min + ", max=" + max + ", mean=" + getMean() + "}";
+    }
+}
@@ -1,5 +1,7 @@
 package com.learnjava.parallelstreams;
 
+import com.learnjava.util.UnrolledLinkedList;
+
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -15,16 +17,42 @@ public class LinkedListSpliteratorExample {
                                            boolean isParallel){
 
         startTimer();
+        List<Integer> resultList = multiplyEachValue_untimed(inputList, multiplyValue, isParallel);
+        timeTaken();
+        return resultList;
+    }
+
+    // untimed variants are what the benchmarks measure, without the log line
+    List<Integer> multiplyEachValue_untimed(LinkedList<Integer> inputList, int multiplyValue,
+                                            boolean isParallel){
+
         Stream<Integer> integerStream = inputList.stream(); //sequential
 
         if(isParallel)
-            integerStream.parallel();
+            integerStream = integerStream.parallel();
 
-        List<Integer> resultList = integerStream
+        return integerStream
                 .map(integer -> integer*multiplyValue)
                 .collect(Collectors.toList());
+    }
+
+    // chunked list: splits on chunk boundaries with exact sizes, close to ArrayList in parallel
+    public List<Integer> multiplyEachValue(UnrolledLinkedList<Integer> inputList, int multiplyValue,
+                                           boolean isParallel){
 
+        startTimer();
+        List<Integer> resultList = multiplyEachValue_untimed(inputList, multiplyValue, isParallel);
         timeTaken();
         return resultList;
     }
+
+    List<Integer> multiplyEachValue_untimed(UnrolledLinkedList<Integer> inputList, int multiplyValue,
+                                            boolean isParallel){
+
+        Stream<Integer> integerStream = isParallel ? inputList.parallelStream() : inputList.stream();
+
+        return integerStream
+                .map(integer -> integer*multiplyValue)
+                .collect(Collectors.toList());
+    }
 }
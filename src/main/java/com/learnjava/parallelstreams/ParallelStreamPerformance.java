@@ -1,5 +1,7 @@
 package com.learnjava.parallelstreams;
 
+import com.learnjava.util.IntList;
+
 import java.util.List;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -11,47 +13,84 @@ public class ParallelStreamPerformance {
 
     public int sum_using_intstream(int count, boolean isParallel){
         startTimer();
+        int sum = sum_using_intstream_untimed(count, isParallel);
+        timeTaken();
+        return sum;
+    }
+
+    // untimed variants below are what the benchmarks measure, without the log line
+    int sum_using_intstream_untimed(int count, boolean isParallel){
         IntStream intStream = IntStream.rangeClosed(0,count);
 
         if(isParallel)
-            intStream.parallel();
+            intStream = intStream.parallel();
 
-        int sum = intStream
+        return intStream
                 .sum();
-        timeTaken();
-        return sum;
     }
 
 
     public int sum_using_list(List<Integer> inputList, boolean isParallel){
         startTimer();
+        int sum = sum_using_list_untimed(inputList, isParallel);
+        timeTaken();
+        return sum;
+    }
+
+    int sum_using_list_untimed(List<Integer> inputList, boolean isParallel){
         Stream<Integer> inputStream = inputList.stream();
 
         if(isParallel)
-            inputStream.parallel();
+            inputStream = inputStream.parallel();
+
+        return inputStream
+                .mapToInt(Integer::intValue) // unboxing
+                .sum();
+    }
 
-        int sum  = inputStream
+    // parallel or sequential picked from the list's size and splittability
+    public int sum_using_list(List<Integer> inputList){
+        startTimer();
+        int sum  = ParallelStreamSelector.common()
+                .stream("sum_using_list", inputList, 1)
                 .mapToInt(Integer::intValue) // unboxing
                 .sum();
         timeTaken();
         return sum;
     }
 
+    public int sum_using_intList(IntList inputList, boolean isParallel){
+        startTimer();
+        int sum = sum_using_intList_untimed(inputList, isParallel);
+        timeTaken();
+        return sum;
+    }
+
+    int sum_using_intList_untimed(IntList inputList, boolean isParallel){
+        IntStream intStream = isParallel ? inputList.parallelStream() : inputList.stream();
+
+        return intStream
+                .sum(); // no unboxing
+    }
+
     public int sum_using_iterate(int n, boolean isParallel){
         startTimer();
+        int sum = sum_using_iterate_untimed(n, isParallel);
+        timeTaken();
+        return sum;
+    }
+
+    int sum_using_iterate_untimed(int n, boolean isParallel){
          Stream<Integer> integerStream = Stream.
                  iterate(0, i ->i+1 );
 
 
         if(isParallel)
-            integerStream.parallel();
+            integerStream = integerStream.parallel();
 
-        int sum = integerStream
+        return integerStream
                 .limit(n+1) // includes the end value too
                 .reduce(0, Integer::sum);
-
-        timeTaken();
-        return sum;
     }
 
 
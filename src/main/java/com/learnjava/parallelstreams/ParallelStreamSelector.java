@@ -0,0 +1,158 @@
+package com.learnjava.parallelstreams;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.learnjava.util.LoggerUtil.debug;
+
+// Picks parallel or sequential for a stream instead of making callers guess an isParallel flag.
+// Roughly the N * Q model: go parallel only when size * per element cost is big enough to pay for
+// splitting and joining, scaled up for sources that split badly, and only when the common pool, which runs
+// parallel streams, has idle workers.
+public class ParallelStreamSelector {
+
+    // ~100 microseconds of total work, below that fork/join overhead wins
+    public static final long DEFAULT_THRESHOLD_NANOS = 100_000;
+    private static final int MAX_RECORDED_DECISIONS = 256;
+
+    private static final ParallelStreamSelector COMMON = new ParallelStreamSelector(DEFAULT_THRESHOLD_NANOS);
+
+    public enum Splittability {
+        // ArrayList, arrays, ranges: halves with exact sizes
+        GOOD(1),
+        // LinkedList: sized, but each split copies off a small batch sequentially
+        POOR(10),
+        // Stream.iterate, iterators: no size, splits are guesses
+        UNSIZED(100);
+
+        private final int thresholdMultiplier;
+
+        Splittability(int thresholdMultiplier) {
+            this.thresholdMultiplier = thresholdMultiplier;
+        }
+
+        // sources smaller than this are not probed, LinkedList's first split is a 1024 element batch
+        static final int MIN_PROBE_SIZE = 1 << 16;
+        private static final Map<Class<?>, Splittability> BY_SOURCE_TYPE = new ConcurrentHashMap<>();
+
+        // LinkedList also reports SUBSIZED (it splits off copied batches), so the first split of a large enough
+        // source is looked at once per source type; small unknown sources count as POOR until then
+        public static Splittability of(Collection<?> source) {
+            Splittability known = BY_SOURCE_TYPE.get(source.getClass());
+            if (known != null) {
+                return known;
+            }
+            if (source instanceof RandomAccess) {
+                return remember(source, GOOD);
+            }
+            Spliterator<?> probe = source.spliterator();
+            if (!probe.hasCharacteristics(Spliterator.SIZED)) {
+                return remember(source, UNSIZED);
+            }
+            long size = probe.estimateSize();
+            if (size < MIN_PROBE_SIZE) {
+                return POOR;
+            }
+            Spliterator<?> prefix = probe.trySplit();
+            return remember(source, prefix != null && prefix.estimateSize() >= size / 4 ? GOOD : POOR);
+        }
+
+        private static Splittability remember(Collection<?> source, Splittability splittability) {
+            BY_SOURCE_TYPE.putIfAbsent(source.getClass(), splittability);
+            return splittability;
+        }
+    }
+
+    public record Decision(String name, long size, Splittability splittability, long costPerElementNanos,
+                           int parallelism, int activeThreads, boolean parallel, String reason) {
+    }
+
+    private final IntSupplier parallelism;
+    private final IntSupplier activeThreads;
+    private final long thresholdNanos;
+    private final Deque<Decision> decisions = new ArrayDeque<>();
+    private final LongAdder parallelCount = new LongAdder();
+    private final LongAdder sequentialCount = new LongAdder();
+
+    public ParallelStreamSelector(long thresholdNanos) {
+        this(ForkJoinPool.commonPool()::getParallelism, ForkJoinPool.commonPool()::getActiveThreadCount, thresholdNanos);
+    }
+
+    // lets tests decide against a given worker count instead of this machine's common pool
+    ParallelStreamSelector(IntSupplier parallelism, IntSupplier activeThreads, long thresholdNanos) {
+        this.parallelism = parallelism;
+        this.activeThreads = activeThreads;
+        this.thresholdNanos = thresholdNanos;
+    }
+
+    public static ParallelStreamSelector common() {
+        return COMMON;
+    }
+
+    public <T> Stream<T> stream(String name, Collection<T> source, long costPerElementNanos) {
+        return StreamSupport.stream(source.spliterator(), decide(name, source, costPerElementNanos).parallel());
+    }
+
+    public Decision decide(String name, Collection<?> source, long costPerElementNanos) {
+        return decide(name, source.size(), Splittability.of(source), costPerElementNanos);
+    }
+
+    // for sources without a known size (e.g. iterate + limit) the caller passes the expected size
+    public Decision decide(String name, long size, Splittability splittability, long costPerElementNanos) {
+        int parallelism = this.parallelism.getAsInt();
+        int activeThreads = this.activeThreads.getAsInt();
+        boolean parallel = false;
+        String reason;
+        long requiredWork = thresholdNanos * splittability.thresholdMultiplier;
+        if (parallelism < 2) {
+            reason = "single worker";
+        } else if (activeThreads >= parallelism) {
+            reason = "pool busy";
+        } else if ((double) size * costPerElementNanos >= requiredWork) {
+            parallel = true;
+            reason = "work above threshold";
+        } else {
+            reason = "work below threshold";
+        }
+        Decision decision = new Decision(name, size, splittability, costPerElementNanos, parallelism, activeThreads, parallel, reason);
+        record(decision);
+        return decision;
+    }
+
+    public List<Decision> decisions() {
+        synchronized (decisions) {
+            return new ArrayList<>(decisions);
+        }
+    }
+
+    public long parallelCount() {
+        return parallelCount.sum();
+    }
+
+    public long sequentialCount() {
+        return sequentialCount.sum();
+    }
+
+    private void record(Decision decision) {
+        (decision.parallel() ? parallelCount : sequentialCount).increment();
+        synchronized (decisions) {
+            if (decisions.size() == MAX_RECORDED_DECISIONS) {
+                decisions.removeFirst();
+            }
+            decisions.addLast(decision);
+        }
+        debug(() -> "stream decision : " + decision);
+    }
+}
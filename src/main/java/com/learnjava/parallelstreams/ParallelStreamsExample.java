@@ -2,6 +2,7 @@ package com.learnjava.parallelstreams;
  import com.learnjava.util.DataSet;
 
 import java.util.List;
+ import java.util.concurrent.TimeUnit;
  import java.util.stream.Collectors;
  import java.util.stream.Stream;
 
@@ -25,7 +26,7 @@ public class ParallelStreamsExample {
         Stream<String> namesStream = namesList.stream();
 
         if(isParallel)
-            namesStream.parallel();
+            namesStream = namesStream.parallel();
 
         return  namesStream
                 .map(this::addNameLengthTransform)
@@ -33,6 +34,15 @@ public class ParallelStreamsExample {
     }
 
 
+    // each transform sleeps 500ms, so anything with more than one name is worth running in parallel
+    public List<String> stringTransform_2(List<String> namesList){
+
+        return ParallelStreamSelector.common()
+                .stream("stringTransform", namesList, TimeUnit.MILLISECONDS.toNanos(500))
+                .map(this::addNameLengthTransform)
+                .collect(Collectors.toList());
+    }
+
     public static void main(String[] args) {
 
         List<String> namesList = DataSet.namesList();
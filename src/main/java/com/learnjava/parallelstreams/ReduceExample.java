@@ -1,5 +1,7 @@
 package com.learnjava.parallelstreams;
 
+import com.learnjava.util.IntList;
+
 import java.util.List;
 
 public class ReduceExample {
@@ -20,4 +22,22 @@ public class ReduceExample {
         return multiply;
     }
 
-}
\ No newline at end of file
+    public int reduce_sum_ParallelStream(IntList inputList){
+        return inputList
+                .parallelStream()
+                .reduce(0, Integer::sum);
+    }
+
+
+    // sum, product, min, max and mean in one parallel pass instead of one pass each
+    public IntAggregate aggregate_ParallelStream(IntList inputList){
+        return IntAggregate.of(inputList.parallelStream());
+    }
+
+    public IntAggregate aggregate_ParallelStream(List<Integer> inputList){
+        return inputList
+                .parallelStream()
+                .collect(IntAggregate.collector());
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.learnjava.parallelstreams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+// Joining collector for parallel streams. Each thread only keeps references to its strings and merging
+// two partial results just links their segment lists, so no characters are copied until the finisher
+// appends everything to one StringBuilder of the exact final length.
+public class RopeJoiningCollector implements Collector<CharSequence, RopeJoiningCollector.Rope, String> {
+
+    private final String delimiter;
+    private final String prefix;
+    private final String suffix;
+
+    private RopeJoiningCollector(CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+        this.delimiter = delimiter.toString();
+        this.prefix = prefix.toString();
+        this.suffix = suffix.toString();
+    }
+
+    public static RopeJoiningCollector joining() {
+        return joining("", "", "");
+    }
+
+    public static RopeJoiningCollector joining(CharSequence delimiter) {
+        return joining(delimiter, "", "");
+    }
+
+    public static RopeJoiningCollector joining(CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+        return new RopeJoiningCollector(delimiter, prefix, suffix);
+    }
+
+    // segments are lists of strings in encounter order; combining appends the right side's segment references
+    public static class Rope {
+        private final List<List<CharSequence>> segments = new ArrayList<>();
+        private List<CharSequence> current;
+        private long elementCount;
+        private long length;
+
+        void add(CharSequence value) {
+            if (current == null) {
+                current = new ArrayList<>();
+                segments.add(current);
+            }
+            current.add(value);
+            elementCount++;
+            length += value.length();
+        }
+
+        Rope append(Rope other) {
+            segments.addAll(other.segments);
+            current = other.current;
+            elementCount += other.elementCount;
+            length += other.length;
+            return this;
+        }
+    }
+
+    @Override
+    public Supplier<Rope> supplier() {
+        return Rope::new;
+    }
+
+    @Override
+    public BiConsumer<Rope, CharSequence> accumulator() {
+        return Rope::add;
+    }
+
+    @Override
+    public BinaryOperator<Rope> combiner() {
+        return Rope::append;
+    }
+
+    @Override
+    public Function<Rope, String> finisher() {
+        return this::join;
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return Set.of();
+    }
+
+    private String join(Rope rope) {
+        long totalLength = prefix.length() + rope.length + suffix.length()
+                + Math.max(0, rope.elementCount - 1) * delimiter.length();
+        if (totalLength > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("joined string too long : " + totalLength);
+        }
+        // a StringBuilder keeps one byte per char while everything is Latin-1, a char[] would take two and
+        // then be compressed into the String
+        StringBuilder joined = new StringBuilder((int) totalLength).append(prefix);
+        boolean first = true;
+        for (List<CharSequence> segment : rope.segments) {
+            for (CharSequence value : segment) {
+                if (!first) {
+                    joined.append(delimiter);
+                }
+                first = false;
+                joined.append(value);
+            }
+        }
+        return joined.append(suffix).toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.learnjava.service;
+
+import com.learnjava.cache.BoundedCache;
+import com.learnjava.cache.EvictionPolicy;
+import com.learnjava.cache.LruEvictionPolicy;
+import com.learnjava.domain.checkout.CartItem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+// Decorates a PriceValidatorService with a cache of validation results keyed by itemId and rate,
+// only the cache misses reach the delegate.
+public class CachingPriceValidatorService extends PriceValidatorService {
+
+    public record CartItemKey(int itemId, double rate) {
+        static CartItemKey of(CartItem cartItem) {
+            return new CartItemKey(cartItem.getItemId(), cartItem.getRate());
+        }
+    }
+
+    private final PriceValidatorService priceValidatorService;
+    private final BoundedCache<CartItemKey, Boolean> validationCache;
+
+    public CachingPriceValidatorService(PriceValidatorService priceValidatorService, int maximumSize, Duration timeToLive) {
+        this(priceValidatorService, maximumSize, timeToLive, new LruEvictionPolicy<>());
+    }
+
+    public CachingPriceValidatorService(PriceValidatorService priceValidatorService, int maximumSize, Duration timeToLive,
+                                        EvictionPolicy<CartItemKey> evictionPolicy) {
+        super(priceValidatorService.getMaxBatchSize());
+        this.priceValidatorService = priceValidatorService;
+        this.validationCache = new BoundedCache<>(maximumSize, timeToLive, evictionPolicy);
+    }
+
+    @Override
+    public boolean isCartItemInvalid(CartItem cartItem) {
+        return validationCache.computeIfAbsent(CartItemKey.of(cartItem),
+                key -> priceValidatorService.isCartItemInvalid(cartItem));
+    }
+
+    @Override
+    public List<CartItem> validateAll(List<CartItem> cartItems) {
+        return validateUsing(cartItems, priceValidatorService::validateAll);
+    }
+
+    @Override
+    public List<CartItem> validateAll(List<CartItem> cartItems, Executor executor) {
+        return validateUsing(cartItems, misses -> priceValidatorService.validateAll(misses, executor));
+    }
+
+    // a fail fast run leaves some misses unvalidated, so its results are not cached
+    @Override
+    public List<CartItem> validateAll_failFast(List<CartItem> cartItems, Executor executor, int maxInvalidItems) {
+        List<CartItem> invalidItems = new ArrayList<>();
+        List<CartItem> misses = new ArrayList<>();
+        cartItems.forEach(cartItem -> {
+            Boolean invalid = validationCache.get(CartItemKey.of(cartItem));
+            if (invalid == null) {
+                misses.add(cartItem);
+            } else if (invalid) {
+                cartItem.setExpired(true);
+                invalidItems.add(cartItem);
+            }
+        });
+        if (invalidItems.size() < maxInvalidItems && !misses.isEmpty()) {
+            invalidItems.addAll(priceValidatorService.validateAll_failFast(misses, executor,
+                    maxInvalidItems - invalidItems.size()));
+        }
+        return invalidItems;
+    }
+
+    public BoundedCache<CartItemKey, Boolean> getValidationCache() {
+        return validationCache;
+    }
+
+    private List<CartItem> validateUsing(List<CartItem> cartItems, Function<List<CartItem>, List<CartItem>> validator) {
+        List<CartItem> misses = new ArrayList<>();
+        cartItems.forEach(cartItem -> {
+            Boolean invalid = validationCache.get(CartItemKey.of(cartItem));
+            if (invalid == null) {
+                misses.add(cartItem);
+            } else {
+                cartItem.setExpired(invalid);
+            }
+        });
+        if (!misses.isEmpty()) {
+            validator.apply(misses); // marks every miss as expired or not
+            misses.forEach(cartItem -> validationCache.put(CartItemKey.of(cartItem), cartItem.isExpired()));
+        }
+        return cartItems.stream()
+                .filter(CartItem::isExpired)
+                .toList();
+    }
+}
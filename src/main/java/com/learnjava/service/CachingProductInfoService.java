@@ -0,0 +1,95 @@
+package com.learnjava.service;
+
+import com.learnjava.cache.BoundedCache;
+import com.learnjava.domain.Inventory;
+import com.learnjava.domain.ProductInfo;
+import com.learnjava.domain.ProductOption;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Decorates a ProductInfoService with a cache. Concurrent misses for the same productId are coalesced:
+// the first caller does the lookup and the others wait for its result instead of issuing their own.
+// Every caller gets its own copy, product services fill in inventory on the ProductInfo they are handed.
+public class CachingProductInfoService extends ProductInfoService {
+
+    private final ProductInfoService productInfoService;
+    private final BoundedCache<String, ProductInfo> productInfoCache;
+    private final ConcurrentHashMap<String, CompletableFuture<ProductInfo>> inFlightLookups = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    public CachingProductInfoService(ProductInfoService productInfoService, int maximumSize, Duration timeToLive) {
+        this.productInfoService = productInfoService;
+        this.productInfoCache = new BoundedCache<>(maximumSize, timeToLive);
+    }
+
+    @Override
+    public ProductInfo retrieveProductInfo(String productId) {
+        ProductInfo productInfo = productInfoCache.get(productId);
+        if (productInfo != null) {
+            return copyOf(productInfo);
+        }
+
+        CompletableFuture<ProductInfo> lookup = new CompletableFuture<>();
+        CompletableFuture<ProductInfo> inFlightLookup = inFlightLookups.putIfAbsent(productId, lookup);
+        if (inFlightLookup != null) {
+            coalescedCount.increment();
+            return copyOf(await(inFlightLookup));
+        }
+        try {
+            productInfo = productInfoCache.get(productId); // a lookup may have completed since the first check
+            if (productInfo == null) {
+                productInfo = productInfoService.retrieveProductInfo(productId);
+                productInfoCache.put(productId, productInfo);
+            }
+            lookup.complete(productInfo);
+            return copyOf(productInfo);
+        } catch (Throwable e) {
+            // waiters must never be left hanging, whatever the lookup threw
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLookups.remove(productId, lookup);
+        }
+    }
+
+    public BoundedCache<String, ProductInfo> getProductInfoCache() {
+        return productInfoCache;
+    }
+
+    // callers that waited on another caller's lookup instead of doing their own
+    public long coalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    private static ProductInfo await(CompletableFuture<ProductInfo> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ProductInfo copyOf(ProductInfo productInfo) {
+        if (productInfo.getProductOptions() == null) {
+            return new ProductInfo(productInfo.getProductId(), null);
+        }
+        List<ProductOption> productOptions = new ArrayList<>(productInfo.getProductOptions().size());
+        productInfo.getProductOptions().forEach(productOption -> productOptions.add(new ProductOption(
+                productOption.getProductionOptionId(), productOption.getSize(), productOption.getColor(),
+                productOption.getPrice(), productOption.getInventory() == null ? null
+                : new Inventory(productOption.getInventory().getCount()))));
+        return new ProductInfo(productInfo.getProductId(), productOptions);
+    }
+}
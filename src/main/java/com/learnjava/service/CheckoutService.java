@@ -4,31 +4,111 @@ import com.learnjava.domain.checkout.Cart;
 import com.learnjava.domain.checkout.CartItem;
 import com.learnjava.domain.checkout.CheckoutResponse;
 import com.learnjava.domain.checkout.CheckoutStatus;
+import com.learnjava.domain.checkout.ColumnarCart;
+import com.learnjava.util.CartFile;
+import com.learnjava.util.LatencyTimer;
+import com.learnjava.util.LatencyTimers;
 
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static com.learnjava.util.CommonUtil.startTimer;
 import static com.learnjava.util.CommonUtil.timeTaken;
 import static com.learnjava.util.LoggerUtil.log;
 import static java.util.stream.Collectors.summingDouble;
 
 public class CheckoutService {
+    // carts with at least this many items are priced over a ColumnarCart
+    public static final int COLUMNAR_PRICING_THRESHOLD = 10_000;
+
+    private static final LatencyTimer validationTimer = LatencyTimers.timer("checkout.validation");
+
     private PriceValidatorService priceValidatorService;
+    private ExecutorService validationExecutor;
 
     public CheckoutService(PriceValidatorService priceValidatorService) {
         this.priceValidatorService = priceValidatorService;
     }
 
+    // validation runs on the given executor instead of the common ForkJoinPool, the caller owns its lifecycle
+    public CheckoutService(PriceValidatorService priceValidatorService, ExecutorService validationExecutor) {
+        this.priceValidatorService = priceValidatorService;
+        this.validationExecutor = validationExecutor;
+    }
+
+    // fixed number of threads for blocking validator calls, with a bounded queue;
+    // once the queue is full the submitting thread runs the task itself, which slows down new checkouts.
+    // A fail fast checkout submits batch by batch and counts batches its own thread ran before submitting more,
+    // so it can still stop early when the queue is full.
+    public static ExecutorService newValidationExecutor(int noOfThreads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(noOfThreads, noOfThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "checkout-validation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     public CheckoutResponse checkout(Cart cart) {
-        startTimer();
-        List<CartItem> priceValidationList = cart.getCartItemList()
-                .parallelStream()
-                .map(cartItem -> {
-                    cartItem.setExpired(priceValidatorService.isCartItemInvalid(cartItem));
-                    return cartItem;
-                })
-                .filter(CartItem::isExpired).toList();
-        timeTaken();
+        return checkoutResponse(cart, validate(cart));
+    }
+
+    // returns the invalid items, also used as the validation stage of StreamingCheckoutService
+    List<CartItem> validate(Cart cart) {
+        long startToken = validationTimer.start();
+        List<CartItem> priceValidationList = validationExecutor == null
+                ? priceValidatorService.validateAll(cart.getCartItemList())
+                : priceValidatorService.validateAll(cart.getCartItemList(), validationExecutor);
+        timeTaken(validationTimer, startToken);
+        return priceValidationList;
+    }
+
+    // every item is validated on its own virtual thread, so the whole cart costs about one validator round trip
+    public CheckoutResponse checkout_virtualThreads(Cart cart) {
+        long startToken = validationTimer.start();
+        List<CartItem> priceValidationList;
+        try (ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<CartItem>> validatedItems = cart.getCartItemList()
+                    .stream()
+                    .map(cartItem -> CompletableFuture.supplyAsync(() -> {
+                        cartItem.setExpired(priceValidatorService.isCartItemInvalid(cartItem));
+                        return cartItem;
+                    }, virtualThreadExecutor))
+                    .toList();
+            priceValidationList = validatedItems.stream()
+                    .map(CompletableFuture::join)
+                    .filter(CartItem::isExpired)
+                    .toList();
+        }
+        timeTaken(validationTimer, startToken);
+        return checkoutResponse(cart, priceValidationList);
+    }
+
+    // Opt in: gives up after maxInvalidItems invalid items instead of validating the whole cart. Outstanding
+    // validations are cancelled and the FAILURE response only lists the invalid items found until then.
+    public CheckoutResponse checkout_failFast(Cart cart, int maxInvalidItems) {
+        long startToken = validationTimer.start();
+        List<CartItem> priceValidationList;
+        if (validationExecutor != null) {
+            priceValidationList = priceValidatorService.validateAll_failFast(cart.getCartItemList(), validationExecutor, maxInvalidItems);
+        } else {
+            try (ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+                priceValidationList = priceValidatorService.validateAll_failFast(cart.getCartItemList(), virtualThreadExecutor, maxInvalidItems);
+            }
+        }
+        timeTaken(validationTimer, startToken);
+        return checkoutResponse(cart, priceValidationList);
+    }
+
+    CheckoutResponse checkoutResponse(Cart cart, List<CartItem> priceValidationList) {
         if (priceValidationList.size() > 0) {
             return new CheckoutResponse(CheckoutStatus.FAILURE, priceValidationList);
         }
@@ -40,8 +120,14 @@ public class CheckoutService {
     }
 
     private double calculateFinalPrice(Cart cart) {
+        if (cart.getCartItemList() instanceof CartFile.CartItemList cartItemList) {
+            return cartItemList.getCartFile().totalPrice(true);
+        }
+        if (cart.getCartItemList().size() >= COLUMNAR_PRICING_THRESHOLD) {
+            return ColumnarCart.of(cart).totalPrice(true);
+        }
         return cart.getCartItemList().parallelStream()
-                .map(item -> item.getQuantity() * item.getRate()).mapToDouble(Double::doubleValue).sum();
+                .mapToDouble(item -> item.getQuantity() * item.getRate()).sum();
     }
 
     private double calculateFinalPriceCollect(Cart cart) {
@@ -0,0 +1,154 @@
+package com.learnjava.service;
+
+import com.learnjava.domain.Review;
+import com.learnjava.util.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Decorates a ReviewService with hedged requests: when a call has not finished after the hedgePercentile
+// latency of earlier calls, a second attempt is started and whichever finishes first wins; the other one
+// is cancelled. At most maxHedgeRate of all requests are hedged, so a slow backend does not get twice the load.
+// close() shuts down the executor only when the service created it.
+public class HedgedReviewService extends ReviewService implements AutoCloseable {
+
+    static final int MIN_SAMPLES = 20;
+
+    private final ReviewService reviewService;
+    private final double hedgePercentile;
+    private final double maxHedgeRate;
+    private final long initialHedgeDelayNanos;
+    private final ExecutorService executorService;
+    private final boolean ownsExecutor;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder hedgeCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+    private final LongAdder censoredSampleCount = new LongAdder();
+
+    // initialHedgeDelay is used until MIN_SAMPLES calls have been measured
+    public HedgedReviewService(ReviewService reviewService, double hedgePercentile, double maxHedgeRate,
+                               Duration initialHedgeDelay) {
+        this(reviewService, hedgePercentile, maxHedgeRate, initialHedgeDelay, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    public HedgedReviewService(ReviewService reviewService, double hedgePercentile, double maxHedgeRate,
+                               Duration initialHedgeDelay, ExecutorService executorService) {
+        this(reviewService, hedgePercentile, maxHedgeRate, initialHedgeDelay, executorService, false);
+    }
+
+    private HedgedReviewService(ReviewService reviewService, double hedgePercentile, double maxHedgeRate,
+                                Duration initialHedgeDelay, ExecutorService executorService, boolean ownsExecutor) {
+        this.reviewService = reviewService;
+        this.hedgePercentile = hedgePercentile;
+        this.maxHedgeRate = maxHedgeRate;
+        this.initialHedgeDelayNanos = initialHedgeDelay.toNanos();
+        this.executorService = executorService;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    @Override
+    public Review retrieveReviews(String productId) {
+        requestCount.increment();
+        CompletionService<Review> completionService = new ExecutorCompletionService<>(executorService);
+        Future<Review> primary = completionService.submit(() -> timedRetrieveReviews(productId));
+        Future<Review> hedge = null;
+        try {
+            Future<Review> completed = completionService.poll(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            if (completed == null && isHedgeAllowed()) {
+                hedgeCount.increment();
+                hedge = completionService.submit(() -> timedRetrieveReviews(productId));
+            }
+            int outstanding = hedge == null ? 1 : 2;
+            if (completed == null) {
+                completed = completionService.take();
+            }
+            while (true) {
+                try {
+                    Review review = completed.get();
+                    if (completed == hedge) {
+                        hedgeWinCount.increment();
+                    }
+                    return review;
+                } catch (ExecutionException e) {
+                    if (--outstanding == 0) {
+                        throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+                    }
+                    completed = completionService.take();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    public long requestCount() {
+        return requestCount.sum();
+    }
+
+    public long hedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    public long hedgeWinCount() {
+        return hedgeWinCount.sum();
+    }
+
+    // latency samples of cancelled attempts, recorded up to the moment they were cancelled
+    public long censoredSampleCount() {
+        return censoredSampleCount.sum();
+    }
+
+    // share of hedges where the second attempt finished first
+    public double hedgeWinRatio() {
+        long hedges = hedgeCount();
+        return hedges == 0 ? 0.0 : (double) hedgeWinCount() / hedges;
+    }
+
+    public long hedgeDelayNanos() {
+        if (latencyHistogram.count() < MIN_SAMPLES) {
+            return initialHedgeDelayNanos;
+        }
+        return latencyHistogram.percentile(hedgePercentile);
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executorService.close();
+        }
+    }
+
+    private boolean isHedgeAllowed() {
+        return hedgeCount.sum() < maxHedgeRate * requestCount.sum();
+    }
+
+    // A cancelled attempt is recorded with its time until cancellation, a lower bound of its real latency.
+    // Leaving it out would keep only the winners, lower the percentile and with it the hedge delay, which in
+    // turn cancels more slow attempts.
+    private Review timedRetrieveReviews(String productId) {
+        long start = System.nanoTime();
+        try {
+            return reviewService.retrieveReviews(productId);
+        } finally {
+            latencyHistogram.record(System.nanoTime() - start);
+            if (Thread.currentThread().isInterrupted()) {
+                censoredSampleCount.increment();
+            }
+        }
+    }
+}
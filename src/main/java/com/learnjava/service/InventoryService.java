@@ -1,8 +1,10 @@
 package com.learnjava.service;
 
 import com.learnjava.domain.Inventory;
+import com.learnjava.domain.ProductInfo;
 import com.learnjava.domain.ProductOption;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static com.learnjava.util.CommonUtil.delay;
@@ -24,4 +26,25 @@ public class InventoryService {
         });
 
     }
+
+    // one call for all the options, the inventories are returned in the same order
+    public List<Inventory> addInventory_batch(List<ProductOption> productOptions) {
+        delay(500);
+        return productOptions.stream()
+                .map(productOption -> Inventory.builder()
+                        .count(2).build())
+                .toList();
+    }
+
+    // sets the inventory of every option of every product with a single addInventory_batch call
+    public List<ProductInfo> addInventoryToProducts(List<ProductInfo> productInfos) {
+        List<ProductOption> productOptions = productInfos.stream()
+                .flatMap(productInfo -> productInfo.getProductOptions().stream())
+                .toList();
+        List<Inventory> inventories = addInventory_batch(productOptions);
+        for (int i = 0; i < productOptions.size(); i++) {
+            productOptions.get(i).setInventory(inventories.get(i));
+        }
+        return productInfos;
+    }
 }
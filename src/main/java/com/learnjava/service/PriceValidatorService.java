@@ -3,16 +3,157 @@ package com.learnjava.service;
 
 import com.learnjava.domain.checkout.CartItem;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
 import static com.learnjava.util.CommonUtil.delay;
 
 public class PriceValidatorService {
 
+    public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+    public static final long DEFAULT_VALIDATION_DELAY = 500;
+
+    private final int maxBatchSize;
+    private final long validationDelay;
+
+    public PriceValidatorService() {
+        this(DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public PriceValidatorService(int maxBatchSize) {
+        this(maxBatchSize, DEFAULT_VALIDATION_DELAY);
+    }
+
+    // validationDelay simulates the round trip of one call in milliseconds
+    public PriceValidatorService(int maxBatchSize, long validationDelay) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1 : " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.validationDelay = validationDelay;
+    }
+
     public boolean isCartItemInvalid(CartItem cartItem){
         int cartId = cartItem.getItemId();
-        delay(500);
-        if (cartId == 7 || cartId == 9 || cartId == 11) {
-            return true;
+        delay(validationDelay);
+        return isInvalidItemId(cartId);
+    }
+
+    // validates maxBatchSize items per call and returns the invalid items in cart order;
+    // the batches run on the common pool, which adds a spare worker while one is blocked in a round trip
+    public List<CartItem> validateAll(List<CartItem> cartItems) {
+        return batches(cartItems)
+                .parallelStream()
+                .map(this::validateBatch)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    // same as validateAll, but each batch is a separate task on the given executor
+    public List<CartItem> validateAll(List<CartItem> cartItems, Executor executor) {
+        List<CompletableFuture<List<CartItem>>> batchFutures = batches(cartItems)
+                .stream()
+                .map(batch -> CompletableFuture.supplyAsync(() -> validateBatch(batch), executor))
+                .toList();
+        return batchFutures.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    // Stops as soon as maxInvalidItems invalid items have been found: batches still queued on the executor never
+    // run and running ones are interrupted. Returns the invalid items of the batches that finished, so the list
+    // is partial when it stopped early, and every invalid item when fewer than maxInvalidItems exist.
+    public List<CartItem> validateAll_failFast(List<CartItem> cartItems, Executor executor, int maxInvalidItems) {
+        if (maxInvalidItems < 1) {
+            throw new IllegalArgumentException("maxInvalidItems must be at least 1 : " + maxInvalidItems);
+        }
+        ExecutorCompletionService<List<CartItem>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<List<CartItem>>> batchFutures = new ArrayList<>();
+        List<CartItem> invalidItems = new ArrayList<>();
+        int finishedBatches = 0;
+        try {
+            for (List<CartItem> batch : batches(cartItems)) {
+                if (invalidItems.size() >= maxInvalidItems) {
+                    break;
+                }
+                batchFutures.add(completionService.submit(() -> validateBatch(batch)));
+                // a CallerRunsPolicy executor may have just run the batch on this thread, count it before submitting more
+                for (Future<List<CartItem>> finished; (finished = completionService.poll()) != null; finishedBatches++) {
+                    invalidItems.addAll(finished.get());
+                }
+            }
+            for (; finishedBatches < batchFutures.size() && invalidItems.size() < maxInvalidItems; finishedBatches++) {
+                invalidItems.addAll(completionService.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } finally {
+            batchFutures.forEach(batchFuture -> batchFuture.cancel(true));
         }
-        return false;
+        return invalidItems;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    private List<List<CartItem>> batches(List<CartItem> cartItems) {
+        int noOfBatches = (cartItems.size() + maxBatchSize - 1) / maxBatchSize;
+        return IntStream.range(0, noOfBatches)
+                .mapToObj(batchIndex -> cartItems.subList(batchIndex * maxBatchSize,
+                        Math.min(cartItems.size(), (batchIndex + 1) * maxBatchSize)))
+                .toList();
+    }
+
+    private List<CartItem> validateBatch(List<CartItem> batch) {
+        batchRoundTrip(); // one round trip per batch
+        List<CartItem> invalidItems = new ArrayList<>();
+        batch.forEach(cartItem -> {
+            cartItem.setExpired(isInvalidItemId(cartItem.getItemId()));
+            if (cartItem.isExpired()) {
+                invalidItems.add(cartItem);
+            }
+        });
+        return invalidItems;
+    }
+
+    // blocks as a ManagedBlocker, so a ForkJoinPool worker waiting here does not take a thread away from the pool;
+    // the per item isCartItemInvalid keeps a plain blocking call
+    private void batchRoundTrip() {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean done;
+
+                @Override
+                public boolean block() {
+                    delay(validationDelay);
+                    done = true;
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return done;
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isInvalidItemId(int cartId) {
+        return cartId == 7 || cartId == 9 || cartId == 11;
     }
 }
@@ -3,10 +3,14 @@ package com.learnjava.service;
 import com.learnjava.domain.Product;
 import com.learnjava.domain.ProductInfo;
 import com.learnjava.domain.Review;
-import static com.learnjava.util.CommonUtil.stopWatch;
+import com.learnjava.util.LatencyTimer;
+import com.learnjava.util.LatencyTimers;
+
+import static com.learnjava.util.CommonUtil.timeTaken;
 import static com.learnjava.util.LoggerUtil.log;
 
 public class ProductService {
+    private static final LatencyTimer productDetailsTimer = LatencyTimers.timer("productServiceUsingThreads.retrieveProductDetails");
     private ProductInfoService productInfoService;
     private ReviewService reviewService;
 
@@ -16,7 +20,7 @@ public class ProductService {
     }
 
     public Product retrieveProductDetails(String productId) throws InterruptedException {
-        stopWatch.start();
+        long startToken = productDetailsTimer.start();
         Runnable productInfoRunnable = new ProductInfoRunnable(productId);
         Thread productInfoThread = new Thread(productInfoRunnable);
 
@@ -32,8 +36,7 @@ public class ProductService {
         ProductInfo productInfo = productInfoService.retrieveProductInfo(productId); // blocking call
         Review review = reviewService.retrieveReviews(productId); // blocking call
 
-        stopWatch.stop();
-        log("Total Time Taken : "+ stopWatch.getTime());
+        timeTaken(productDetailsTimer, startToken);
         return new Product(productId, productInfo, review);
     }
 
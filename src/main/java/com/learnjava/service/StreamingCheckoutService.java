@@ -0,0 +1,146 @@
+package com.learnjava.service;
+
+import com.learnjava.domain.checkout.Cart;
+import com.learnjava.domain.checkout.CartItem;
+import com.learnjava.domain.checkout.CheckoutResponse;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Checks out a stream of carts through validation -> pricing -> result consumer stages connected with
+// SubmissionPublishers. Every stage has a bounded buffer and a fixed number of carts in progress, and a stage
+// only asks upstream for another cart once it has handed one downstream, so when a later stage falls behind
+// the buffers fill up and submit() blocks the producer instead of carts piling up in memory.
+public class StreamingCheckoutService implements AutoCloseable {
+
+    public record CheckoutResult(Cart cart, CheckoutResponse checkoutResponse) {
+    }
+
+    // maxInFlight is the highest number of carts submitted but not yet consumed during one checkoutAll call,
+    // bounded by the buffers and parallelism
+    public record CheckoutSummary(long completedCount, int maxInFlight) {
+    }
+
+    private record ValidatedCart(Cart cart, List<CartItem> invalidItems) {
+    }
+
+    private final CheckoutService checkoutService;
+    private final int validationParallelism;
+    private final int pricingParallelism;
+    private final int bufferCapacity;
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    // bufferCapacity is per stage and rounded up to a power of two by SubmissionPublisher
+    public StreamingCheckoutService(CheckoutService checkoutService, int validationParallelism, int pricingParallelism,
+                                    int bufferCapacity) {
+        if (validationParallelism < 1 || pricingParallelism < 1 || bufferCapacity < 1) {
+            throw new IllegalArgumentException("parallelism and bufferCapacity must be at least 1");
+        }
+        this.checkoutService = checkoutService;
+        this.validationParallelism = validationParallelism;
+        this.pricingParallelism = pricingParallelism;
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    // blocks until every cart has reached resultConsumer, a failure in any stage stops the pipeline and is
+    // rethrown as a CompletionException. Counters belong to the call, so concurrent calls do not mix them.
+    public CheckoutSummary checkoutAll(Stream<Cart> carts, Consumer<CheckoutResult> resultConsumer) {
+        AtomicLong completedCount = new AtomicLong();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        try (SubmissionPublisher<Cart> source = new SubmissionPublisher<>(executorService, bufferCapacity)) {
+            Stage<Cart, ValidatedCart> validation = new Stage<>(validationParallelism,
+                    cart -> new ValidatedCart(cart, checkoutService.validate(cart)));
+            Stage<ValidatedCart, CheckoutResult> pricing = new Stage<>(pricingParallelism,
+                    validatedCart -> new CheckoutResult(validatedCart.cart(),
+                            checkoutService.checkoutResponse(validatedCart.cart(), validatedCart.invalidItems())));
+            source.subscribe(validation);
+            validation.subscribe(pricing);
+            CompletableFuture<Void> completion = pricing.consume(checkoutResult -> {
+                try {
+                    resultConsumer.accept(checkoutResult);
+                    completedCount.incrementAndGet();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+
+            Iterator<Cart> cartIterator = carts.iterator();
+            while (cartIterator.hasNext() && !completion.isDone()) { // stop producing once a stage has failed
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                source.submit(cartIterator.next()); // blocks while the validation stage's buffer is full
+            }
+            source.close();
+            completion.join();
+        }
+        return new CheckoutSummary(completedCount.get(), maxInFlight.get());
+    }
+
+    @Override
+    public void close() {
+        executorService.close();
+    }
+
+    // Applies function to up to parallelism items at a time and publishes the results downstream.
+    // pending counts the items being worked on plus one for the upstream, which releases it on completion.
+    private class Stage<T, R> extends SubmissionPublisher<R> implements Flow.Processor<T, R> {
+        private final int parallelism;
+        private final Function<T, R> function;
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private Flow.Subscription subscription;
+
+        Stage(int parallelism, Function<T, R> function) {
+            super(executorService, bufferCapacity);
+            this.parallelism = parallelism;
+            this.function = function;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(parallelism);
+        }
+
+        @Override
+        public void onNext(T item) {
+            pending.incrementAndGet();
+            executorService.execute(() -> {
+                try {
+                    submit(function.apply(item)); // blocks while the next stage's buffer is full
+                    subscription.request(1);
+                } catch (Throwable e) {
+                    subscription.cancel();
+                    closeExceptionally(e);
+                } finally {
+                    release();
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            closeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            release();
+        }
+
+        private void release() {
+            if (pending.decrementAndGet() == 0) {
+                close();
+            }
+        }
+    }
+}
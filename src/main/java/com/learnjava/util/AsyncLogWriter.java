@@ -0,0 +1,111 @@
+package com.learnjava.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Callers only enqueue, a single daemon thread formats the messages and writes them in batches.
+// Once closed, log() refuses messages and the caller prints them itself, so nothing is lost.
+class AsyncLogWriter implements Runnable {
+
+    private static final int BUFFER_CAPACITY = 1 << 14;
+    private static final int BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private record LogEvent(String threadName, String message) {
+    }
+
+    private final MpscRingBuffer<LogEvent> buffer = new MpscRingBuffer<>(BUFFER_CAPACITY);
+    private final WritableByteChannel channel;
+    private final StringBuilder batch = new StringBuilder(BATCH_SIZE * 64);
+    private final LongAdder enqueued = new LongAdder();
+    private final AtomicInteger activeProducers = new AtomicInteger();
+    private final Thread writerThread;
+    private volatile long written;
+    private volatile boolean running = true;
+    private volatile boolean closed;
+
+    AsyncLogWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        this.writerThread = new Thread(this, "async-logger");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    // false when the message was not taken: the writer is closed or its thread has died
+    boolean log(String threadName, String message) {
+        activeProducers.incrementAndGet();
+        try {
+            if (closed) {
+                return false;
+            }
+            LogEvent logEvent = new LogEvent(threadName, message);
+            while (!buffer.offer(logEvent)) {
+                if (!writerThread.isAlive()) {
+                    return false;
+                }
+                Thread.yield(); // full, wait for the writer instead of dropping the message
+            }
+            enqueued.increment();
+            return true;
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running || !buffer.isEmpty()) {
+            int drained = buffer.drain(this::append, BATCH_SIZE);
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            write();
+            written += drained;
+        }
+    }
+
+    // waits until everything logged before this call has been written
+    void flush() {
+        long target = enqueued.sum();
+        while (written < target && writerThread.isAlive()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+    }
+
+    // the writer keeps draining until every producer that got past the closed check has enqueued
+    void close() {
+        closed = true;
+        while (activeProducers.get() > 0) {
+            Thread.yield();
+        }
+        flush();
+        running = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(LogEvent logEvent) {
+        batch.append('[').append(logEvent.threadName()).append("] - ").append(logEvent.message()).append(System.lineSeparator());
+    }
+
+    private void write() {
+        ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+        batch.setLength(0);
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            System.err.println("Exception is :" + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.learnjava.util;
+
+import com.learnjava.domain.checkout.Cart;
+import com.learnjava.domain.checkout.CartItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.LongStream;
+
+import static com.learnjava.util.CartFileWriter.EXPIRED_FLAG;
+import static com.learnjava.util.CartFileWriter.HEADER_SIZE;
+import static com.learnjava.util.CartFileWriter.MAGIC;
+import static com.learnjava.util.CartFileWriter.RECORD_SIZE;
+import static com.learnjava.util.CartFileWriter.VERSION;
+
+// Read only view of a file written by CartFileWriter. The file is memory mapped in segments of up to 1GB
+// (one MappedByteBuffer cannot exceed 2GB), fields are read straight from the mapping, and a CartItem is only
+// created when asCart()'s list is asked for one. Reads use absolute gets, so one CartFile can be shared by threads.
+public class CartFile implements Closeable {
+
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+    private final int segmentSize;
+    private final int cardId;
+    private final long itemCount;
+    private final MappedByteBuffer[] recordSegments;
+    private final MappedByteBuffer[] stringSegments;
+
+    private CartFile(FileChannel channel, int segmentSize) throws IOException {
+        this.channel = channel;
+        this.segmentSize = segmentSize;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+            throw new IOException("not a cart file");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("unsupported cart file version : " + header.getInt(4));
+        }
+        this.cardId = header.getInt(8);
+        this.itemCount = header.getLong(16);
+        long stringTableOffset = header.getLong(24);
+        this.recordSegments = map(HEADER_SIZE, itemCount * RECORD_SIZE);
+        this.stringSegments = map(stringTableOffset, channel.size() - stringTableOffset);
+    }
+
+    public static CartFile open(Path path) throws IOException {
+        return open(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    // smaller segments let tests cover records and names that cross segment boundaries
+    static CartFile open(Path path, int segmentSize) throws IOException {
+        if (segmentSize % RECORD_SIZE != 0) {
+            throw new IllegalArgumentException("segmentSize must be a multiple of " + RECORD_SIZE);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new CartFile(channel, segmentSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getCardId() {
+        return cardId;
+    }
+
+    public long size() {
+        return itemCount;
+    }
+
+    public int itemId(long index) {
+        return recordSegment(index).getInt(recordOffset(index));
+    }
+
+    public int quantity(long index) {
+        return recordSegment(index).getInt(recordOffset(index) + 4);
+    }
+
+    public double rate(long index) {
+        return recordSegment(index).getDouble(recordOffset(index) + 8);
+    }
+
+    public boolean isExpired(long index) {
+        return (recordSegment(index).getInt(recordOffset(index) + 16) & EXPIRED_FLAG) != 0;
+    }
+
+    public String itemName(long index) {
+        MappedByteBuffer segment = recordSegment(index);
+        int offset = recordOffset(index);
+        int nameLength = segment.getInt(offset + 20);
+        long nameOffset = segment.getLong(offset + 24);
+        byte[] name = new byte[nameLength];
+        for (int copied = 0; copied < nameLength; ) {
+            long position = nameOffset + copied;
+            MappedByteBuffer stringSegment = stringSegments[(int) (position / segmentSize)];
+            int segmentOffset = (int) (position % segmentSize);
+            int length = Math.min(nameLength - copied, segmentSize - segmentOffset);
+            stringSegment.get(segmentOffset, name, copied, length);
+            copied += length;
+        }
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    public CartItem cartItem(long index) {
+        checkIndex(index);
+        return new CartItem(itemId(index), itemName(index), rate(index), quantity(index), isExpired(index));
+    }
+
+    // quantity * rate summed straight from the mapped records, no CartItem objects
+    public double totalPrice(boolean isParallel) {
+        if (!isParallel) {
+            double total = 0;
+            for (long i = 0; i < itemCount; i++) {
+                total += quantity(i) * rate(i);
+            }
+            return total;
+        }
+        return LongStream.range(0, itemCount)
+                .parallel()
+                .mapToDouble(i -> quantity(i) * rate(i))
+                .sum();
+    }
+
+    // Cart whose item list reads each CartItem from the file on access. A List cannot index past
+    // Integer.MAX_VALUE, larger files are only readable through the accessors above.
+    public Cart asCart() {
+        if (itemCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("too many items for a Cart : " + itemCount);
+        }
+        return Cart.builder()
+                .cardId(cardId)
+                .cartItemList(new CartItemList())
+                .build();
+    }
+
+    // the mappings stay valid until they are garbage collected, closing only releases the channel
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MappedByteBuffer recordSegment(long index) {
+        return recordSegments[(int) (index * RECORD_SIZE / segmentSize)];
+    }
+
+    private int recordOffset(long index) {
+        return (int) (index * RECORD_SIZE % segmentSize);
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= itemCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + itemCount);
+        }
+    }
+
+    private MappedByteBuffer[] map(long position, long length) throws IOException {
+        MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((length + segmentSize - 1) / segmentSize)];
+        for (int i = 0; i < segments.length; i++) {
+            long segmentStart = (long) i * segmentSize;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + segmentStart,
+                    Math.min(segmentSize, length - segmentStart));
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return segments;
+    }
+
+    // Validation marks items as expired and reads the list again later, but keeping every CartItem would hold the
+    // whole file on the heap. CartItems are built on every get(), and the expired state set on them is kept in
+    // one bit per item (flipped relative to the file's flag), so a later get() of the same index sees it.
+    public class CartItemList extends AbstractList<CartItem> implements RandomAccess {
+
+        private final AtomicLongArray expiredOverrides = new AtomicLongArray(Math.toIntExact((itemCount + 63) >>> 6));
+
+        public CartFile getCartFile() {
+            return CartFile.this;
+        }
+
+        @Override
+        public CartItem get(int index) {
+            checkIndex(index);
+            return new FileCartItem(index);
+        }
+
+        @Override
+        public int size() {
+            return (int) itemCount;
+        }
+
+        private boolean isExpiredAt(int index) {
+            boolean overridden = (expiredOverrides.get(index >>> 6) & (1L << index)) != 0;
+            return isExpired(index) != overridden;
+        }
+
+        private void setExpiredAt(int index, boolean expired) {
+            long bit = 1L << index;
+            boolean overridden = isExpired(index) != expired;
+            long word;
+            do {
+                word = expiredOverrides.get(index >>> 6);
+            } while (!expiredOverrides.compareAndSet(index >>> 6, word, overridden ? word | bit : word & ~bit));
+        }
+
+        // reads and writes the expired state through the list, the other fields are a copy of the record
+        private class FileCartItem extends CartItem {
+            private final int index;
+
+            FileCartItem(int index) {
+                super(itemId(index), itemName(index), rate(index), quantity(index), false);
+                this.index = index;
+            }
+
+            @Override
+            public boolean isExpired() {
+                return isExpiredAt(index);
+            }
+
+            @Override
+            public void setExpired(boolean expired) {
+                setExpiredAt(index, expired);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.learnjava.util;
+
+import com.learnjava.domain.checkout.Cart;
+import com.learnjava.domain.checkout.CartItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Writes the binary cart format read by CartFile:
+//   header  (32 bytes) : magic, version, cardId, unused, itemCount (long), stringTableOffset (long)
+//   records (32 bytes) : itemId, quantity, rate (double), flags, nameLength, nameOffset (long)
+//   string table       : UTF-8 item names, nameOffset is relative to the start of the table
+// The item count is fixed up front so records and names can be streamed to their own regions of the file.
+public class CartFileWriter implements Closeable {
+
+    static final int MAGIC = 0x43415254; // "CART"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 32;
+    static final int EXPIRED_FLAG = 1;
+
+    private static final int RECORDS_PER_FLUSH = 4096;
+    private static final int STRING_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final int cardId;
+    private final long itemCount;
+    private final long stringTableOffset;
+    private final ByteBuffer records = ByteBuffer.allocateDirect(RECORD_SIZE * RECORDS_PER_FLUSH).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer strings = ByteBuffer.allocateDirect(STRING_BUFFER_SIZE);
+    private long recordPosition = HEADER_SIZE;
+    private long stringPosition;
+    private long nameOffset;
+    private long writtenCount;
+
+    public CartFileWriter(Path path, int cardId, long itemCount) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.cardId = cardId;
+        this.itemCount = itemCount;
+        this.stringTableOffset = HEADER_SIZE + itemCount * RECORD_SIZE;
+        this.stringPosition = stringTableOffset;
+    }
+
+    public static void write(Path path, Cart cart) throws IOException {
+        try (CartFileWriter writer = new CartFileWriter(path, cart.getCardId() == null ? 0 : cart.getCardId(),
+                cart.getCartItemList().size())) {
+            for (CartItem cartItem : cart.getCartItemList()) {
+                writer.add(cartItem);
+            }
+        }
+    }
+
+    public void add(CartItem cartItem) throws IOException {
+        add(cartItem.getItemId(), cartItem.getItemName(), cartItem.getRate(), cartItem.getQuantity(), cartItem.isExpired());
+    }
+
+    public void add(int itemId, String itemName, double rate, int quantity, boolean isExpired) throws IOException {
+        if (writtenCount == itemCount) {
+            throw new IllegalStateException("cart file already has " + itemCount + " items");
+        }
+        byte[] name = itemName == null ? new byte[0] : itemName.getBytes(StandardCharsets.UTF_8);
+        if (!records.hasRemaining()) {
+            recordPosition = flush(records, recordPosition);
+        }
+        records.putInt(itemId)
+                .putInt(quantity)
+                .putDouble(rate)
+                .putInt(isExpired ? EXPIRED_FLAG : 0)
+                .putInt(name.length)
+                .putLong(nameOffset);
+        if (name.length > strings.remaining()) {
+            stringPosition = flush(strings, stringPosition);
+        }
+        if (name.length > strings.capacity()) {
+            stringPosition = flush(ByteBuffer.wrap(name).position(name.length), stringPosition);
+        } else {
+            strings.put(name);
+        }
+        nameOffset += name.length;
+        writtenCount++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            recordPosition = flush(records, recordPosition);
+            stringPosition = flush(strings, stringPosition);
+            if (writtenCount != itemCount) {
+                throw new IllegalStateException("expected " + itemCount + " items but " + writtenCount + " were written");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(cardId)
+                    .putInt(0)
+                    .putLong(itemCount)
+                    .putLong(stringTableOffset);
+            flush(header, 0);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // writes everything put into the buffer since the last flush at position, returns the next position
+    private long flush(ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+        return position;
+    }
+}
@@ -1,19 +1,20 @@
 package com.learnjava.util;
 
-import org.apache.commons.lang3.time.StopWatch;
-
 import static com.learnjava.util.LoggerUtil.log;
 import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class CommonUtil {
 
-    public static StopWatch stopWatch = new StopWatch();
+    // start time of startTimer()/timeTaken() is kept per thread, so concurrent callers don't reset each other
+    private static final ThreadLocal<Long> timerStart = new ThreadLocal<>();
 
     public static void delay(long delayMilliSeconds)  {
         try{
             sleep(delayMilliSeconds);
-        }catch (Exception e){
+        }catch (InterruptedException e){
             LoggerUtil.log("Exception is :" + e.getMessage());
+            Thread.currentThread().interrupt(); // let cancelled tasks see they were interrupted
         }
 
     }
@@ -24,17 +25,23 @@ public class CommonUtil {
     }
 
     public static void startTimer(){
-        stopWatch.reset();
-        stopWatch.start();
+        timerStart.set(System.nanoTime());
     }
 
     public static void timeTaken(){
-        stopWatch.stop();
-        log("Total Time Taken : " +stopWatch.getTime());
+        Long start = timerStart.get();
+        if (start == null) {
+            throw new IllegalStateException("startTimer() was not called on this thread");
+        }
+        timerStart.remove();
+        log("Total Time Taken : " + NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
-    public static void stopWatchReset(){
-        stopWatch.reset();
+    // stops a call timed with timer.start(), records it in the timer's histogram and logs it
+    public static long timeTaken(LatencyTimer timer, long startToken){
+        long elapsed = NANOSECONDS.toMillis(timer.stop(startToken));
+        log("Total Time Taken : " + elapsed);
+        return elapsed;
     }
 
     public static  int noOfCores(){
@@ -4,9 +4,12 @@ package com.learnjava.util;
 import com.learnjava.domain.checkout.Cart;
 import com.learnjava.domain.checkout.CartItem;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -29,6 +32,16 @@ public class DataSet {
         return cart;
     }
 
+    // same shape as createCart, but prices come from a seeded Random so every run writes the same file
+    public static void writeCartFile(Path path, int noOfItemsInCart, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (CartFileWriter writer = new CartFileWriter(path, noOfItemsInCart, noOfItemsInCart)) {
+            for (int index = 1; index <= noOfItemsInCart; index++) {
+                writer.add(index, "CartItem -".concat(index + ""), generateRandomPrice(random), index, false);
+            }
+        }
+    }
+
     public static List<String> namesList() {
         return List.of("Bob", "Jamie", "Jill", "Rick");
 
@@ -56,11 +69,34 @@ public class DataSet {
         return linkedList;
     }
 
+    public static UnrolledLinkedList<Integer> generateIntegerUnrolledLinkedList(int maxNumber) {
+        UnrolledLinkedList<Integer> unrolledLinkedList = new UnrolledLinkedList<>();
+        IntStream.rangeClosed(1, maxNumber)
+                .boxed()
+                .forEach((unrolledLinkedList::add));
+        return unrolledLinkedList;
+    }
+
     public static Set<Integer> generateIntegerSet(int maxNumber) {
         return IntStream.rangeClosed(1, maxNumber)
                 .boxed().collect(Collectors.toSet());
     }
 
+    // primitive versions of the datasets above, no Integer boxes
+    public static IntList generateIntList(int maxNumber) {
+        IntList intList = new IntList(Math.max(0, maxNumber));
+        IntStream.rangeClosed(1, maxNumber)
+                .forEach(intList::add);
+        return intList;
+    }
+
+    public static IntSet generateIntSet(int maxNumber) {
+        IntSet intSet = new IntSet(Math.max(0, maxNumber));
+        IntStream.rangeClosed(1, maxNumber)
+                .forEach(intSet::add);
+        return intSet;
+    }
+
 
 
     public static double generateRandomPrice() {
@@ -68,4 +104,10 @@ public class DataSet {
         int max = 100;
         return Math.random() * (max - min + 1) + min;
     }
+
+    private static double generateRandomPrice(Random random) {
+        int min = 50;
+        int max = 100;
+        return random.nextDouble() * (max - min + 1) + min;
+    }
 }
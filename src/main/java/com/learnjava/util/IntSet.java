@@ -0,0 +1,185 @@
+package com.learnjava.util;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+// Hash set of primitive ints using open addressing with linear probing over a single int[].
+// 0 marks an empty slot, so the value 0 itself is tracked by a flag. Kept at most half full.
+public class IntSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] slots;
+    private boolean containsZero;
+    private int size;
+
+    public IntSet() {
+        this(DEFAULT_CAPACITY / 2);
+    }
+
+    public IntSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative : " + expectedSize);
+        }
+        this.slots = new int[tableSizeFor(expectedSize)];
+    }
+
+    public boolean add(int value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = indexOf(slots, value);
+        if (slots[index] == value) {
+            return false;
+        }
+        slots[index] = value;
+        size++;
+        if (2 * size > slots.length) {
+            resize();
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        return slots[indexOf(slots, value)] == value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] toArray() {
+        return stream().toArray();
+    }
+
+    // splits the slot table in half; sizes of the halves are estimates since slots are not evenly filled
+    public Spliterator.OfInt spliterator() {
+        return new SlotSpliterator(slots, 0, slots.length, containsZero, size);
+    }
+
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    private void resize() {
+        int[] oldSlots = slots;
+        int[] newSlots = new int[oldSlots.length * 2];
+        for (int value : oldSlots) {
+            if (value != 0) {
+                newSlots[indexOf(newSlots, value)] = value;
+            }
+        }
+        slots = newSlots;
+    }
+
+    // slot holding value, or the empty slot where it belongs
+    private static int indexOf(int[] table, int value) {
+        int mask = table.length - 1;
+        int index = mix(value) & mask;
+        while (table[index] != 0 && table[index] != value) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int mix(int value) {
+        int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < 2 * expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static class SlotSpliterator implements Spliterator.OfInt {
+        private final int[] slots;
+        private int from;
+        private final int to;
+        private boolean emitZero;
+        private long estimatedSize;
+
+        SlotSpliterator(int[] slots, int from, int to, boolean emitZero, long estimatedSize) {
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+            this.emitZero = emitZero;
+            this.estimatedSize = estimatedSize;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (emitZero) {
+                emitZero = false;
+                action.accept(0);
+                return true;
+            }
+            while (from < to) {
+                int value = slots[from++];
+                if (value != 0) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (emitZero) {
+                emitZero = false;
+                action.accept(0);
+            }
+            for (int i = from; i < to; i++) {
+                if (slots[i] != 0) {
+                    action.accept(slots[i]);
+                }
+            }
+            from = to;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int midPoint = (from + to) >>> 1;
+            if (midPoint <= from) {
+                return null;
+            }
+            estimatedSize >>>= 1;
+            SlotSpliterator prefix = new SlotSpliterator(slots, from, midPoint, emitZero, estimatedSize);
+            emitZero = false;
+            from = midPoint;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+    }
+}
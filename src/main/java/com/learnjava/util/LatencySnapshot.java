@@ -0,0 +1,16 @@
+package com.learnjava.util;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public record LatencySnapshot(String name, long count, long p50, long p90, long p99, long max) {
+
+    @Override
+    public String toString() {
+        return String.format("%s : count=%d p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms",
+                name, count, millis(p50), millis(p90), millis(p99), millis(max));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,32 @@
+package com.learnjava.util;
+
+// Named timer that records into a LatencyHistogram. Every call gets its own start token,
+// so any number of threads can time the same operation concurrently.
+public class LatencyTimer {
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    LatencyTimer(String name) {
+        this.name = name;
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    // records the time since startToken and returns it in nanoseconds
+    public long stop(long startToken) {
+        long elapsed = System.nanoTime() - startToken;
+        histogram.record(elapsed);
+        return elapsed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencySnapshot snapshot() {
+        return histogram.snapshot(name);
+    }
+}
@@ -0,0 +1,21 @@
+package com.learnjava.util;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LatencyTimers {
+
+    private static final ConcurrentHashMap<String, LatencyTimer> timers = new ConcurrentHashMap<>();
+
+    public static LatencyTimer timer(String name) {
+        return timers.computeIfAbsent(name, LatencyTimer::new);
+    }
+
+    public static List<LatencySnapshot> snapshots() {
+        return timers.values().stream()
+                .map(LatencyTimer::snapshot)
+                .sorted(Comparator.comparing(LatencySnapshot::name))
+                .toList();
+    }
+}
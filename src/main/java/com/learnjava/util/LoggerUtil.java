@@ -1,10 +1,90 @@
 package com.learnjava.util;
 
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Supplier;
+
 public class LoggerUtil {
 
+    public enum Level {
+        DEBUG,
+        INFO
+    }
+
+    private static volatile Level level = Level.INFO;
+    // null means messages are printed on the calling thread
+    private static volatile AsyncLogWriter asyncLogWriter;
+    private static boolean shutdownHookAdded;
+
+    static {
+        if (Boolean.getBoolean("logger.async")) {
+            enableAsync();
+        }
+    }
+
     public static void log(String message){
 
-        System.out.println("[" + Thread.currentThread().getName() +"] - " + message);
+        write(message);
+
+    }
+
+    // the supplier is only called when the level is enabled
+    public static void log(Supplier<String> message){
+        if (isEnabled(Level.INFO)) {
+            write(message.get());
+        }
+    }
+
+    public static void debug(Supplier<String> message){
+        if (isEnabled(Level.DEBUG)) {
+            write(message.get());
+        }
+    }
+
+    public static boolean isEnabled(Level messageLevel) {
+        return messageLevel.compareTo(level) >= 0;
+    }
+
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static void enableAsync() {
+        enableAsync(Channels.newChannel(new FileOutputStream(FileDescriptor.out)));
+    }
+
+    public static synchronized void enableAsync(WritableByteChannel channel) {
+        disableAsync();
+        asyncLogWriter = new AsyncLogWriter(channel);
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(LoggerUtil::disableAsync));
+            shutdownHookAdded = true;
+        }
+    }
+
+    // writes out everything still queued and goes back to logging on the calling thread
+    public static synchronized void disableAsync() {
+        AsyncLogWriter writer = asyncLogWriter;
+        if (writer != null) {
+            asyncLogWriter = null;
+            writer.close();
+        }
+    }
+
+    public static void flush() {
+        AsyncLogWriter writer = asyncLogWriter;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
 
+    private static void write(String message) {
+        AsyncLogWriter writer = asyncLogWriter;
+        // a writer closed after it was read here refuses the message instead of dropping it
+        if (writer == null || !writer.log(Thread.currentThread().getName(), message)) {
+            System.out.println("[" + Thread.currentThread().getName() +"] - " + message);
+        }
     }
 }
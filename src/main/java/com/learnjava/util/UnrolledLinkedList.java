@@ -0,0 +1,369 @@
+package com.learnjava.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Linked list of small arrays (chunks). Inserting or removing in the middle walks chunks instead of nodes
+// and shifts at most one chunk, and the spliterator hands out whole runs of chunks with exact sizes,
+// so parallel streams split it like an ArrayList rather than like a LinkedList.
+public class UnrolledLinkedList<E> extends AbstractList<E> {
+
+    public static final int DEFAULT_CHUNK_CAPACITY = 64;
+
+    private final int chunkCapacity;
+    private Chunk head;
+    private Chunk tail;
+    private int size;
+    private int chunkCount;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int chunkCapacity) {
+        if (chunkCapacity < 2) {
+            throw new IllegalArgumentException("chunkCapacity must be at least 2 : " + chunkCapacity);
+        }
+        this.chunkCapacity = chunkCapacity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int chunkCount() {
+        return chunkCount;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        Position position = positionOf(index);
+        return (E) position.chunk().elements[position.offset()];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        Position position = positionOf(index);
+        E previous = (E) position.chunk().elements[position.offset()];
+        position.chunk().elements[position.offset()] = element;
+        return previous;
+    }
+
+    @Override
+    public boolean add(E element) {
+        if (tail == null || tail.count == chunkCapacity) {
+            linkAfter(tail, new Chunk(chunkCapacity));
+        }
+        tail.elements[tail.count++] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            add(element);
+            return;
+        }
+        Position position = positionOf(index);
+        Chunk chunk = position.chunk();
+        int offset = position.offset();
+        if (chunk.count == chunkCapacity) {
+            // full chunk: move its upper half into a new chunk right after it
+            Chunk next = new Chunk(chunkCapacity);
+            int half = chunkCapacity / 2;
+            System.arraycopy(chunk.elements, half, next.elements, 0, chunkCapacity - half);
+            Arrays.fill(chunk.elements, half, chunkCapacity, null);
+            next.count = chunkCapacity - half;
+            chunk.count = half;
+            linkAfter(chunk, next);
+            if (offset > half) {
+                chunk = next;
+                offset -= half;
+            }
+        }
+        System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.count - offset);
+        chunk.elements[offset] = element;
+        chunk.count++;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        Position position = positionOf(index);
+        E removed = removeAt(position.chunk(), position.offset());
+        mergeWithNext(position.chunk());
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        chunkCount = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ChunkSpliterator();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E removeAt(Chunk chunk, int offset) {
+        E removed = (E) chunk.elements[offset];
+        System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.count - offset - 1);
+        chunk.elements[--chunk.count] = null;
+        size--;
+        modCount++;
+        if (chunk.count == 0) {
+            unlink(chunk);
+        }
+        return removed;
+    }
+
+    // keeps chunks at least a quarter full so sizes stay close to chunkCapacity for splitting
+    private void mergeWithNext(Chunk chunk) {
+        Chunk next = chunk.next;
+        if (chunk.count == 0 || next == null || chunk.count >= chunkCapacity / 4
+                || chunk.count + next.count > chunkCapacity / 2) {
+            return;
+        }
+        System.arraycopy(next.elements, 0, chunk.elements, chunk.count, next.count);
+        chunk.count += next.count;
+        unlink(next);
+    }
+
+    private void linkAfter(Chunk previous, Chunk chunk) {
+        chunk.prev = previous;
+        if (previous == null) {
+            chunk.next = head;
+            head = chunk;
+        } else {
+            chunk.next = previous.next;
+            previous.next = chunk;
+        }
+        if (chunk.next == null) {
+            tail = chunk;
+        } else {
+            chunk.next.prev = chunk;
+        }
+        chunkCount++;
+    }
+
+    // the unlinked chunk keeps its next pointer so an iterator standing on it can still move on
+    private void unlink(Chunk chunk) {
+        if (chunk.prev == null) {
+            head = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            tail = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+        chunkCount--;
+    }
+
+    // walks chunks from whichever end is closer
+    private Position positionOf(int index) {
+        if (index < size / 2) {
+            Chunk chunk = head;
+            while (index >= chunk.count) {
+                index -= chunk.count;
+                chunk = chunk.next;
+            }
+            return new Position(chunk, index);
+        }
+        int fromEnd = size - index;
+        Chunk chunk = tail;
+        while (fromEnd > chunk.count) {
+            fromEnd -= chunk.count;
+            chunk = chunk.prev;
+        }
+        return new Position(chunk, chunk.count - fromEnd);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static final class Chunk {
+        final Object[] elements;
+        int count;
+        Chunk prev;
+        Chunk next;
+
+        Chunk(int capacity) {
+            this.elements = new Object[capacity];
+        }
+    }
+
+    private record Position(Chunk chunk, int offset) {
+    }
+
+    private class Itr implements Iterator<E> {
+        private Chunk chunk = head;
+        private int offset;
+        private int nextIndex;
+        private Chunk lastChunk;
+        private int lastOffset;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
+            if (nextIndex >= size) {
+                throw new NoSuchElementException();
+            }
+            while (offset == chunk.count) {
+                chunk = chunk.next;
+                offset = 0;
+            }
+            lastChunk = chunk;
+            lastOffset = offset;
+            nextIndex++;
+            return (E) chunk.elements[offset++];
+        }
+
+        @Override
+        public void remove() {
+            if (lastChunk == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            removeAt(lastChunk, lastOffset);
+            if (chunk == lastChunk) {
+                offset--;
+            }
+            lastChunk = null;
+            nextIndex--;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // Takes a snapshot of the chunk chain and the running element counts when created, so every
+    // split is a midpoint on the chunk array and both halves know their exact size.
+    private class ChunkSpliterator implements Spliterator<E> {
+        private final Chunk[] chunks;
+        private final int[] startOf; // elements before chunks[i], startOf[chunks.length] == size
+        private final int expectedModCount;
+        private int chunkIndex;
+        private final int chunkEnd;
+        private int offset;
+
+        ChunkSpliterator() {
+            this.chunks = new Chunk[chunkCount];
+            this.startOf = new int[chunkCount + 1];
+            int i = 0;
+            for (Chunk chunk = head; chunk != null; chunk = chunk.next, i++) {
+                chunks[i] = chunk;
+                startOf[i + 1] = startOf[i] + chunk.count;
+            }
+            this.expectedModCount = modCount;
+            this.chunkEnd = chunkCount;
+        }
+
+        private ChunkSpliterator(ChunkSpliterator parent, int chunkIndex, int chunkEnd, int offset) {
+            this.chunks = parent.chunks;
+            this.startOf = parent.startOf;
+            this.expectedModCount = parent.expectedModCount;
+            this.chunkIndex = chunkIndex;
+            this.chunkEnd = chunkEnd;
+            this.offset = offset;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            while (chunkIndex < chunkEnd) {
+                Chunk chunk = chunks[chunkIndex];
+                if (offset < chunk.count) {
+                    action.accept((E) chunk.elements[offset++]);
+                    checkForComodification();
+                    return true;
+                }
+                chunkIndex++;
+                offset = 0;
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            for (; chunkIndex < chunkEnd; chunkIndex++, offset = 0) {
+                Chunk chunk = chunks[chunkIndex];
+                for (; offset < chunk.count; offset++) {
+                    action.accept((E) chunk.elements[offset]);
+                }
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int midPoint = (chunkIndex + chunkEnd) >>> 1;
+            if (midPoint <= chunkIndex) {
+                return null;
+            }
+            ChunkSpliterator prefix = new ChunkSpliterator(this, chunkIndex, midPoint, offset);
+            chunkIndex = midPoint;
+            offset = 0;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return startOf[chunkEnd] - startOf[chunkIndex] - offset;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.learnjava.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.learnjava.util.CommonUtil.delay;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void get_hitAndMiss() {
+        //given
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", 1);
+
+        //when
+        Integer hit = cache.get("a");
+        Integer miss = cache.get("b");
+
+        //then
+        assertEquals(1, hit);
+        assertNull(miss);
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void lru_evictsLeastRecentlyUsed() {
+        //given
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        //when
+        cache.put("c", 3);
+
+        //then
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void timeToLive() {
+        //given
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMillis(50));
+        cache.put("a", 1);
+
+        //when
+        delay(100);
+
+        //then
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void tinyLfu_keepsFrequentKeys() {
+        //given
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2, Duration.ofMinutes(1), new TinyLfuEvictionPolicy<>(2));
+        cache.put("hot1", 1);
+        cache.put("hot2", 2);
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot1");
+            cache.get("hot2");
+        }
+
+        //when
+        cache.get("cold");
+        cache.put("cold", 3);
+
+        //then
+        assertNull(cache.get("cold"));
+        assertEquals(1, cache.get("hot1"));
+        assertEquals(2, cache.get("hot2"));
+        assertEquals(0, cache.evictionCount());
+    }
+}
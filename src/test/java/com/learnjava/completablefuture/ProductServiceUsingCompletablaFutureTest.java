@@ -1,14 +1,23 @@
 package com.learnjava.completablefuture;
 
 import com.learnjava.domain.Product;
+import com.learnjava.domain.Review;
+import com.learnjava.executor.BulkheadExecutor;
 import com.learnjava.service.InventoryService;
 import com.learnjava.service.ProductInfoService;
 import com.learnjava.service.ReviewService;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ProductServiceUsingCompletablaFutureTest {
@@ -83,4 +92,106 @@ class ProductServiceUsingCompletablaFutureTest {
                 });
         assertNotNull(product.getReview());
     }
-}
\ No newline at end of file
+
+    @Test
+    void retrieveProductDetails_bulk() {
+        //given
+        List<String> productIds = IntStream.range(0, 10).mapToObj(i -> "ABC" + i).toList();
+        AtomicInteger callbacks = new AtomicInteger();
+
+        //when
+        List<Product> products = pscf.retrieveProductDetails(productIds, 5, product -> callbacks.incrementAndGet());
+
+        //then
+        assertEquals(10, products.size());
+        assertEquals(10, callbacks.get());
+        assertEquals(10, products.stream().map(Product::getProductId).distinct().count());
+        products.forEach(product -> {
+            assertTrue(product.getProductInfo().getProductOptions().size() > 0);
+            assertNotNull(product.getReview());
+        });
+    }
+
+    @Test
+    void retrieveProductDetails_bulk_maxInFlight() {
+        //given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ReviewService countingReviewService = new ReviewService() {
+            @Override
+            public Review retrieveReviews(String productId) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    return super.retrieveReviews(productId);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        };
+        ProductServiceUsingCompletablaFuture productService = new ProductServiceUsingCompletablaFuture(pis, countingReviewService, is);
+        List<String> productIds = IntStream.range(0, 12).mapToObj(i -> "ABC" + i).toList();
+
+        //when
+        List<Product> products = productService.retrieveProductDetails(productIds, 4);
+
+        //then
+        assertEquals(12, products.size());
+        assertTrue(maxInFlight.get() <= 4);
+    }
+
+    @Test
+    void retrieveProductDetails_bulk_bulkheads() {
+        //given
+        AtomicInteger productInfoCalls = new AtomicInteger();
+        AtomicInteger reviewCalls = new AtomicInteger();
+        ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+        ProductServiceBulkheads bulkheads = new ProductServiceBulkheads(
+                runnable -> {
+                    productInfoCalls.incrementAndGet();
+                    executorService.execute(runnable);
+                },
+                runnable -> {
+                    reviewCalls.incrementAndGet();
+                    executorService.execute(runnable);
+                },
+                executorService);
+        ProductServiceUsingCompletablaFuture productService = new ProductServiceUsingCompletablaFuture(pis, rs, is, bulkheads);
+        List<String> productIds = IntStream.range(0, 8).mapToObj(i -> "ABC" + i).toList();
+
+        //when
+        List<Product> products = productService.retrieveProductDetails(productIds, 4);
+
+        //then
+        assertEquals(8, products.size());
+        assertEquals(8, productInfoCalls.get());
+        assertEquals(8, reviewCalls.get());
+        executorService.shutdown();
+    }
+
+    @Test
+    void retrieveProductDetails_bulk_invalidMaxInFlight() {
+        //given
+        List<String> productIds = List.of("ABC123");
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> pscf.retrieveProductDetails(productIds, 0));
+    }
+
+    @Test
+    void retrieveProductDetailsWithInventory_bulkheads() {
+        //given
+        ProductServiceBulkheads bulkheads = ProductServiceBulkheads.bounded(4, 10);
+        ProductServiceUsingCompletablaFuture productService = new ProductServiceUsingCompletablaFuture(pis, rs, is, bulkheads);
+        String productId = "ABC123";
+
+        //when
+        Product product = productService.retrieveProductDetailsWithInventory_approach2(productId);
+
+        //then
+        assertNotNull(product);
+        product.getProductInfo().getProductOptions()
+                .forEach(productOption -> assertNotNull(productOption.getInventory()));
+        assertNotNull(product.getReview());
+        assertEquals(0, ((BulkheadExecutor) bulkheads.inventoryExecutor()).rejectedCount());
+    }
+}
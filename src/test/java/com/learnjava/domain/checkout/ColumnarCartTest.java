@@ -0,0 +1,74 @@
+package com.learnjava.domain.checkout;
+
+import com.learnjava.util.DataSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCartTest {
+
+    @Test
+    void of() {
+        //given
+        Cart cart = DataSet.createCart(3);
+
+        //when
+        ColumnarCart columnarCart = ColumnarCart.of(cart);
+
+        //then
+        assertEquals(3, columnarCart.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, columnarCart.itemId(i));
+            assertEquals(i + 1, columnarCart.quantity(i));
+            assertEquals(cart.getCartItemList().get(i).getRate(), columnarCart.rate(i));
+        }
+    }
+
+    @Test
+    void columnsCopied() {
+        //given
+        int[] quantities = {2, 1, 4};
+        ColumnarCart columnarCart = new ColumnarCart(new int[]{1, 2, 3}, quantities, new double[]{10.0, 5.5, 0.25});
+
+        //when
+        quantities[0] = 100;
+
+        //then
+        assertEquals(2, columnarCart.quantity(0));
+        assertEquals(26.5, columnarCart.totalPrice(false));
+    }
+
+    @Test
+    void totalPrice() {
+        //given
+        ColumnarCart columnarCart = new ColumnarCart(new int[]{1, 2, 3}, new int[]{2, 1, 4}, new double[]{10.0, 5.5, 0.25});
+
+        //when
+        double sequentialTotal = columnarCart.totalPrice(false);
+        double parallelTotal = columnarCart.totalPrice(true);
+
+        //then
+        assertEquals(26.5, sequentialTotal);
+        assertEquals(26.5, parallelTotal);
+    }
+
+    @Test
+    void totalPrice_largeCart() {
+        //given
+        Cart cart = DataSet.createCart(100_000);
+        double expected = cart.getCartItemList().stream()
+                .mapToDouble(item -> item.getQuantity() * item.getRate()).sum();
+
+        //when
+        double total = ColumnarCart.of(cart).totalPrice(true);
+
+        //then
+        assertEquals(expected, total, expected * 1e-9);
+    }
+
+    @Test
+    void columnsOfDifferentLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ColumnarCart(new int[1], new int[2], new double[1]));
+    }
+}
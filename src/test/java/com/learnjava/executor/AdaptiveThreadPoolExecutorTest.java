@@ -0,0 +1,95 @@
+package com.learnjava.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static com.learnjava.util.CommonUtil.delay;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveThreadPoolExecutorTest {
+
+    @Test
+    void growsUnderBlockingLoad() {
+        //given
+        AdaptiveThreadPoolExecutor executor = new AdaptiveThreadPoolExecutor("adaptive", 1, 16, Duration.ofMillis(50));
+
+        //when
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> tasks = IntStream.range(0, 64)
+                .mapToObj(i -> {
+                    delay(5);
+                    return CompletableFuture.runAsync(() -> delay(100), executor);
+                })
+                .toList();
+        tasks.forEach(CompletableFuture::join);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        //then
+        assertTrue(executor.resizeCount() > 0);
+        assertTrue(executor.getLargestPoolSize() > 1 && executor.getLargestPoolSize() <= 16);
+        assertNotNull(executor.getLastDecision()); // may come from an idle periodic check once the burst is over
+        assertTrue(elapsedMillis < 64 * 100 / 2, "elapsed : " + elapsedMillis);
+        executor.shutdown();
+    }
+
+    @Test
+    void shrinksWhenIdle() {
+        //given
+        AdaptiveThreadPoolExecutor executor = new AdaptiveThreadPoolExecutor("adaptive", 1, 16, Duration.ofMillis(50));
+        executor.setMaximumPoolSize(8);
+        executor.setCorePoolSize(8);
+
+        //when
+        delay(60);
+        CompletableFuture.runAsync(() -> {
+        }, executor).join();
+
+        //then
+        assertTrue(executor.getCorePoolSize() <= 4, "core pool size : " + executor.getCorePoolSize());
+        executor.shutdown();
+    }
+
+    @Test
+    void shrinksWithoutSubmissions() {
+        //given
+        AdaptiveThreadPoolExecutor executor = new AdaptiveThreadPoolExecutor("adaptive", 1, 16, Duration.ofMillis(50));
+        executor.setMaximumPoolSize(8);
+        executor.setCorePoolSize(8);
+
+        //when
+        delay(400); // 8 -> 4 -> 2 -> 1 takes three intervals
+
+        //then
+        assertEquals(1, executor.getCorePoolSize());
+        assertEquals(1, executor.getLastDecision().newPoolSize());
+        executor.shutdown();
+    }
+
+    @Test
+    void growsWhenTasksWaitInQueue() {
+        //given
+        AdaptiveThreadPoolExecutor executor = new AdaptiveThreadPoolExecutor("adaptive", 1, 16, Duration.ofSeconds(10));
+        List<CompletableFuture<Void>> tasks = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> delay(50), executor))
+                .toList();
+        tasks.forEach(CompletableFuture::join); // each task waited for the ones before it, up to 3x its service time
+
+        //when
+        executor.adjustPoolSize(Duration.ofSeconds(10).toNanos());
+
+        //then
+        assertTrue(executor.getLastDecision().waitTimeMillis() > AdaptiveThreadPoolExecutor.MAX_WAIT_RATIO * 50);
+        assertTrue(executor.getCorePoolSize() >= 2, "core pool size : " + executor.getCorePoolSize());
+        executor.shutdown();
+    }
+
+    @Test
+    void invalidBounds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveThreadPoolExecutor("adaptive", 4, 2, Duration.ofMillis(50)));
+    }
+}
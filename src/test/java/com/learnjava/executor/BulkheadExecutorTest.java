@@ -0,0 +1,52 @@
+package com.learnjava.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadExecutorTest {
+
+    @Test
+    void execute_rejectsWhenFull() throws InterruptedException {
+        //given
+        BulkheadExecutor bulkheadExecutor = new BulkheadExecutor("test", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        bulkheadExecutor.execute(blocked); // running
+        bulkheadExecutor.execute(blocked); // queued
+
+        //when
+        assertThrows(RejectedExecutionException.class, () -> bulkheadExecutor.execute(blocked));
+        assertThrows(RejectedExecutionException.class, () -> CompletableFuture.runAsync(blocked, bulkheadExecutor));
+
+        //then
+        assertEquals(2, bulkheadExecutor.rejectedCount());
+        assertEquals(1, bulkheadExecutor.queuedCount());
+        release.countDown();
+        bulkheadExecutor.shutdown();
+    }
+
+    @Test
+    void execute() {
+        //given
+        BulkheadExecutor bulkheadExecutor = new BulkheadExecutor("test", 2, 0);
+
+        //when
+        String threadName = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), bulkheadExecutor).join();
+
+        //then
+        assertTrue(threadName.startsWith("test-"));
+        assertEquals(0, bulkheadExecutor.rejectedCount());
+        bulkheadExecutor.shutdown();
+    }
+}
@@ -0,0 +1,141 @@
+package com.learnjava.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.learnjava.util.CommonUtil.delay;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorRegistryTest {
+
+    ExecutorRegistry executorRegistry = new ExecutorRegistry(2, 8);
+
+    @Test
+    void executor_sharedAndLazy() throws InterruptedException {
+        //given
+        AtomicInteger created = new AtomicInteger();
+
+        //when
+        assertNull(executorRegistry.metrics("custom"));
+        ExecutorService first = executorRegistry.executor("custom", () -> {
+            created.incrementAndGet();
+            return new AdaptiveThreadPoolExecutor("custom", 1, 4, Duration.ofMillis(100));
+        });
+        ExecutorService second = executorRegistry.executor("custom", () -> {
+            created.incrementAndGet();
+            return new AdaptiveThreadPoolExecutor("custom", 1, 4, Duration.ofMillis(100));
+        });
+
+        //then
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertSame(executorRegistry.blockingIo(), executorRegistry.blockingIo());
+        assertTrue(executorRegistry.shutdown(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void metrics() throws Exception {
+        //given
+        ExecutorService blockingIo = executorRegistry.blockingIo();
+
+        //when
+        List<CompletableFuture<Void>> tasks = IntStream.range(0, 10)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> delay(20), blockingIo))
+                .toList();
+        tasks.forEach(CompletableFuture::join);
+        Future<Object> failedTask = executorRegistry.virtual().submit(() -> {
+            throw new IllegalStateException("failed");
+        });
+        assertThrows(Exception.class, failedTask::get);
+        ExecutorService cpu = executorRegistry.cpu();
+        cpu.execute(() -> delay(200));
+        Future<?> cancelledTask = cpu.submit(() -> delay(20));
+        cancelledTask.cancel(false);
+        executorRegistry.shutdown(Duration.ofSeconds(1));
+
+        //then
+        ExecutorRegistry.PoolMetrics blockingIoMetrics = executorRegistry.metrics(ExecutorRegistry.BLOCKING_IO_POOL);
+        assertEquals(10, blockingIoMetrics.submitted());
+        assertEquals(0, blockingIoMetrics.completed());
+        assertEquals(10, blockingIoMetrics.unknownOutcome());
+        assertEquals(0, blockingIoMetrics.active());
+        assertEquals(1, executorRegistry.metrics(ExecutorRegistry.VIRTUAL_POOL).failed());
+        ExecutorRegistry.PoolMetrics cpuMetrics = executorRegistry.metrics(ExecutorRegistry.CPU_POOL);
+        assertEquals(1, cpuMetrics.completed());
+        assertEquals(1, cpuMetrics.cancelled());
+        assertEquals(List.of(ExecutorRegistry.BLOCKING_IO_POOL, ExecutorRegistry.VIRTUAL_POOL, ExecutorRegistry.CPU_POOL),
+                executorRegistry.metrics().stream().map(ExecutorRegistry.PoolMetrics::name).toList());
+    }
+
+    @Test
+    void metrics_supplyAsync() throws InterruptedException {
+        //given
+        ExecutorService blockingIo = executorRegistry.blockingIo();
+
+        //when
+        List<CompletableFuture<Integer>> tasks = IntStream.range(0, 10)
+                .mapToObj(i -> ExecutorRegistry.supplyAsync(() -> {
+                    if (i % 5 == 0) {
+                        throw new IllegalStateException("failed " + i);
+                    }
+                    return i;
+                }, blockingIo))
+                .toList();
+        tasks.forEach(task -> task.exceptionally(e -> -1).join());
+        executorRegistry.shutdown(Duration.ofSeconds(1));
+
+        //then
+        ExecutorRegistry.PoolMetrics blockingIoMetrics = executorRegistry.metrics(ExecutorRegistry.BLOCKING_IO_POOL);
+        assertEquals(10, blockingIoMetrics.submitted());
+        assertEquals(8, blockingIoMetrics.completed());
+        assertEquals(2, blockingIoMetrics.failed());
+        assertEquals(0, blockingIoMetrics.unknownOutcome());
+    }
+
+    @Test
+    void shutdown_interruptsAfterTimeout() throws InterruptedException {
+        //given
+        ExecutorService cpu = executorRegistry.cpu();
+        cpu.execute(() -> delay(5000));
+
+        //when
+        long start = System.currentTimeMillis();
+        boolean terminated = executorRegistry.shutdown(Duration.ofMillis(100));
+        long elapsed = System.currentTimeMillis() - start;
+
+        //then
+        assertFalse(terminated);
+        assertTrue(elapsed < 1000, "elapsed : " + elapsed);
+        assertTrue(cpu.isShutdown());
+        assertThrows(IllegalStateException.class, () -> executorRegistry.cpu());
+    }
+
+    @Test
+    void executor_createdWhileShuttingDown_isStopped() throws InterruptedException {
+        //given
+        List<CompletableFuture<ExecutorService>> creations = IntStream.range(0, 20)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> executorRegistry.executor("pool-" + i, ExecutorRegistry.PoolType.CPU),
+                        runnable -> new Thread(runnable).start()))
+                .toList();
+
+        //when
+        executorRegistry.shutdown(Duration.ofSeconds(1));
+
+        //then
+        for (CompletableFuture<ExecutorService> creation : creations) {
+            try {
+                assertTrue(creation.join().isShutdown());
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+}
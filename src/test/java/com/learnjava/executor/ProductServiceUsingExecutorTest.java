@@ -0,0 +1,98 @@
+package com.learnjava.executor;
+
+import com.learnjava.domain.Product;
+import com.learnjava.domain.Review;
+import com.learnjava.service.InventoryService;
+import com.learnjava.service.ProductInfoService;
+import com.learnjava.service.ReviewService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.learnjava.util.CommonUtil.delay;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductServiceUsingExecutorTest {
+
+    ProductInfoService productInfoService = new ProductInfoService();
+
+    @Test
+    void retrieveProductDetails() throws Exception {
+        //given
+        ProductServiceUsingExecutor productService = new ProductServiceUsingExecutor(productInfoService, new ReviewService());
+
+        //when
+        Product product = productService.retrieveProductDetails("ABC123");
+
+        //then
+        assertNotNull(product.getProductInfo());
+        assertTrue(ExecutorRegistry.shared().metrics("productServiceUsingExecutor").submitted() >= 2);
+    }
+
+    @Test
+    void retrieveProductDetails_structured() throws Exception {
+        //given
+        ProductServiceUsingExecutor productService = new ProductServiceUsingExecutor(productInfoService,
+                new ReviewService(), new InventoryService());
+
+        //when
+        Product product = productService.retrieveProductDetails_structured("ABC123", Duration.ofSeconds(5));
+
+        //then
+        assertNotNull(product.getProductInfo());
+        assertNotNull(product.getReview());
+        product.getProductInfo().getProductOptions()
+                .forEach(productOption -> assertNotNull(productOption.getInventory()));
+    }
+
+    @Test
+    void retrieveProductDetails_structured_failureCancelsSibling() {
+        //given
+        ReviewService failingReviewService = new ReviewService() {
+            @Override
+            public Review retrieveReviews(String productId) {
+                delay(100);
+                throw new RuntimeException("review service down");
+            }
+        };
+        ProductServiceUsingExecutor productService = new ProductServiceUsingExecutor(productInfoService, failingReviewService);
+
+        //when
+        long start = System.currentTimeMillis();
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> productService.retrieveProductDetails_structured("ABC123", Duration.ofSeconds(5)));
+        long elapsed = System.currentTimeMillis() - start;
+
+        //then
+        assertEquals("review service down", exception.getCause().getMessage());
+        assertTrue(elapsed < 1000, "elapsed : " + elapsed); // product info takes 1000ms when not cancelled
+    }
+
+    @Test
+    void retrieveProductDetails_structured_deadline() {
+        //given
+        AtomicBoolean reviewFinished = new AtomicBoolean();
+        ReviewService slowReviewService = new ReviewService() {
+            @Override
+            public Review retrieveReviews(String productId) {
+                delay(3000);
+                reviewFinished.set(!Thread.currentThread().isInterrupted());
+                return super.retrieveReviews(productId);
+            }
+        };
+        ProductServiceUsingExecutor productService = new ProductServiceUsingExecutor(productInfoService, slowReviewService);
+
+        //when
+        long start = System.currentTimeMillis();
+        assertThrows(TimeoutException.class,
+                () -> productService.retrieveProductDetails_structured("ABC123", Duration.ofMillis(300)));
+        long elapsed = System.currentTimeMillis() - start;
+
+        //then
+        assertTrue(elapsed < 1000, "elapsed : " + elapsed);
+        assertFalse(reviewFinished.get());
+    }
+}
@@ -0,0 +1,67 @@
+package com.learnjava.forkjoin;
+
+import com.learnjava.util.DataSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelMapTest {
+
+    @Test
+    void map() {
+        //given
+        List<Integer> inputList = DataSet.generateIntegerList(1_000_000);
+
+        //when
+        List<Integer> resultList = ParallelMap.map(inputList, value -> value * 2);
+
+        //then
+        assertEquals(1_000_000, resultList.size());
+        assertEquals(2, resultList.get(0));
+        assertEquals(2_000_000, resultList.get(999_999));
+    }
+
+    @Test
+    void map_keepsOrder() {
+        //given
+        List<String> names = DataSet.namesList();
+
+        //when
+        List<String> resultList;
+        try (ForkJoinPool forkJoinPool = new ForkJoinPool(4)) {
+            resultList = ParallelMap.map(names, name -> name.length() + " - " + name, 1, forkJoinPool);
+        }
+
+        //then
+        assertEquals(names.stream().map(name -> name.length() + " - " + name).collect(Collectors.toList()), resultList);
+    }
+
+    @Test
+    void map_linkedList() {
+        //given
+        LinkedList<Integer> inputList = DataSet.generateIntegerLinkedList(10_000);
+
+        //when
+        List<String> resultList = ParallelMap.map(inputList, String::valueOf, 100);
+
+        //then
+        assertEquals("1", resultList.get(0));
+        assertEquals("10000", resultList.get(9_999));
+    }
+
+    @Test
+    void map_emptyList() {
+        assertTrue(ParallelMap.map(List.<Integer>of(), value -> value).isEmpty());
+    }
+
+    @Test
+    void sequentialCutoff() {
+        assertEquals(62_500, ParallelMap.sequentialCutoff(1_000_000, 4));
+        assertEquals(1, ParallelMap.sequentialCutoff(3, 8));
+    }
+}
@@ -0,0 +1,51 @@
+package com.learnjava.parallelstreams;
+
+import com.learnjava.util.DataSet;
+import com.learnjava.util.UnrolledLinkedList;
+import org.junit.jupiter.api.RepeatedTest;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkedListSpliteratorExampleTest {
+    LinkedListSpliteratorExample linkedListSpliteratorExample = new LinkedListSpliteratorExample();
+    ArrayListSpliteratorExample arrayListSpliteratorExample = new ArrayListSpliteratorExample();
+
+    @RepeatedTest(5)
+    void multiplyEachValue_linkedList_parallel() {
+        int size = 1000000;
+        //given
+        LinkedList<Integer> inputList = DataSet.generateIntegerLinkedList(size);
+        //when
+        List<Integer> resultList = linkedListSpliteratorExample.multiplyEachValue(inputList, 2, true);
+        //then
+        assertEquals(size, resultList.size());
+    }
+
+    @RepeatedTest(5)
+    void multiplyEachValue_unrolledLinkedList_parallel() {
+        int size = 1000000;
+        //given
+        UnrolledLinkedList<Integer> inputList = DataSet.generateIntegerUnrolledLinkedList(size);
+        //when
+        List<Integer> resultList = linkedListSpliteratorExample.multiplyEachValue(inputList, 2, true);
+        //then
+        assertEquals(size, resultList.size());
+        assertEquals(2, resultList.get(0));
+        assertEquals(2 * size, resultList.get(size - 1));
+    }
+
+    @RepeatedTest(5)
+    void multiplyEachValue_arrayList_parallel() {
+        int size = 1000000;
+        //given
+        ArrayList<Integer> inputList = DataSet.generateArrayList(size);
+        //when
+        List<Integer> resultList = arrayListSpliteratorExample.multiplyEachValue(inputList, 2, true);
+        //then
+        assertEquals(size, resultList.size());
+    }
+}
@@ -1,6 +1,7 @@
 package com.learnjava.parallelstreams;
 
 import com.learnjava.util.DataSet;
+import com.learnjava.util.IntList;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -85,4 +86,30 @@ class ParallelStreamPerformanceTest {
         assertEquals(1784293664, sum);
     }
 
-}
\ No newline at end of file
+    @Test
+    void sum_using_intList_parallel() {
+        //given
+        int size = 1000000;
+        IntList inputList = DataSet.generateIntList(size);
+        //when
+        int sum = intStreamExample.sum_using_intList(inputList, true);
+        System.out.println("sum : "+ sum);
+
+        //then
+        assertEquals(1784293664, sum);
+    }
+
+    @Test
+    void sum_using_list_selected() {
+        //given
+        int size = 1000000;
+        ArrayList<Integer> inputList = DataSet.generateArrayList(size);
+        //when
+        int sum = intStreamExample.sum_using_list(inputList);
+        System.out.println("sum : "+ sum);
+
+        //then
+        assertEquals(1784293664, sum);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.learnjava.parallelstreams;
+
+import com.learnjava.util.DataSet;
+import com.learnjava.util.UnrolledLinkedList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelStreamSelectorTest {
+
+    // four idle workers, whatever this machine's common pool looks like
+    ParallelStreamSelector selector = new ParallelStreamSelector(() -> 4, () -> 0, ParallelStreamSelector.DEFAULT_THRESHOLD_NANOS);
+
+    @Test
+    void stream_smallList_sequential() {
+        //given
+        List<Integer> inputList = DataSet.generateIntegerList(100);
+
+        //when
+        Stream<Integer> stream = selector.stream("small", inputList, 1);
+
+        //then
+        assertFalse(stream.isParallel());
+        assertEquals("work below threshold", selector.decisions().get(0).reason());
+    }
+
+    @Test
+    void stream_largeArrayList_parallel() {
+        //given
+        ArrayList<Integer> inputList = DataSet.generateArrayList(1000000);
+
+        //when
+        Stream<Integer> stream = selector.stream("large", inputList, 1);
+
+        //then
+        assertTrue(stream.isParallel());
+        assertEquals(ParallelStreamSelector.Splittability.GOOD, selector.decisions().get(0).splittability());
+    }
+
+    @Test
+    void stream_linkedList_needsMoreWork() {
+        //given
+        LinkedList<Integer> inputList = DataSet.generateIntegerLinkedList(500000);
+
+        //when
+        boolean cheapElements = selector.stream("linked cheap", inputList, 1).isParallel();
+        boolean expensiveElements = selector.stream("linked expensive", inputList, 10).isParallel();
+
+        //then
+        assertFalse(cheapElements);
+        assertTrue(expensiveElements);
+        assertEquals(ParallelStreamSelector.Splittability.POOR, selector.decisions().get(0).splittability());
+        assertEquals(1, selector.parallelCount());
+        assertEquals(1, selector.sequentialCount());
+    }
+
+    @Test
+    void decide_unrolledLinkedList_good() {
+        //given
+        UnrolledLinkedList<Integer> inputList = DataSet.generateIntegerUnrolledLinkedList(500000);
+
+        //when
+        ParallelStreamSelector.Decision decision = selector.decide("unrolled", inputList, 1);
+
+        //then
+        assertEquals(ParallelStreamSelector.Splittability.GOOD, decision.splittability());
+        assertTrue(decision.parallel());
+    }
+
+    @Test
+    void decide_iterate_unsized() {
+        //when
+        ParallelStreamSelector.Decision decision = selector.decide("iterate", 1000000, ParallelStreamSelector.Splittability.UNSIZED, 1);
+
+        //then
+        assertFalse(decision.parallel());
+    }
+
+    @Test
+    void decide_smallLinkedList_poor() {
+        //given
+        LinkedList<Integer> inputList = DataSet.generateIntegerLinkedList(100);
+
+        //when
+        ParallelStreamSelector.Decision decision = selector.decide("linked small", inputList, 1);
+
+        //then
+        assertEquals(ParallelStreamSelector.Splittability.POOR, decision.splittability());
+    }
+
+    @Test
+    void decide_singleWorker_sequential() {
+        //when
+        ParallelStreamSelector.Decision decision = new ParallelStreamSelector(() -> 1, () -> 0, 1)
+                .decide("single", 1000000, ParallelStreamSelector.Splittability.GOOD, 1000);
+
+        //then
+        assertFalse(decision.parallel());
+        assertEquals("single worker", decision.reason());
+    }
+
+    @Test
+    void decide_poolBusy_sequential() {
+        //when
+        ParallelStreamSelector.Decision decision = new ParallelStreamSelector(() -> 4, () -> 4, 1)
+                .decide("busy", 1000000, ParallelStreamSelector.Splittability.GOOD, 1000);
+
+        //then
+        assertFalse(decision.parallel());
+        assertEquals("pool busy", decision.reason());
+    }
+}
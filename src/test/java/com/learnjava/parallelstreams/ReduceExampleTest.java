@@ -1,11 +1,15 @@
 package com.learnjava.parallelstreams;
 
+import com.learnjava.util.DataSet;
+import com.learnjava.util.IntList;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ReduceExampleTest {
 
@@ -62,4 +66,64 @@ class ReduceExampleTest {
         //then
         assertEquals(1, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void reduce_ParallelStream_intList() {
+
+        //given
+        IntList inputList = DataSet.generateIntList(8);
+
+        //when
+        int result = reduceExample.reduce_sum_ParallelStream(inputList);
+
+        //then
+        assertEquals(36, result);
+    }
+
+    @Test
+    void aggregate_ParallelStream() {
+
+        //given
+        List<Integer> inputList = List.of(1,2,3,4);
+
+        //when
+        IntAggregate result = reduceExample.aggregate_ParallelStream(inputList);
+
+        //then
+        assertEquals(4, result.getCount());
+        assertEquals(10, result.getSum());
+        assertEquals(24, result.getProduct());
+        assertEquals(1, result.getMin());
+        assertEquals(4, result.getMax());
+        assertEquals(2.5, result.getMean());
+    }
+
+    @Test
+    void aggregate_ParallelStream_intList() {
+
+        //given
+        IntList inputList = DataSet.generateIntList(1000000);
+
+        //when
+        IntAggregate result = reduceExample.aggregate_ParallelStream(inputList);
+
+        //then
+        assertEquals(500000500000L, result.getSum()); // would overflow an int
+        assertTrue(result.isProductOverflow());
+        assertThrows(ArithmeticException.class, result::getProduct);
+        assertEquals(1000000, result.getMax());
+        assertEquals(500000.5, result.getMean());
+    }
+
+    @Test
+    void aggregate_ParallelStream_emptyList() {
+
+        //when
+        IntAggregate result = reduceExample.aggregate_ParallelStream(new ArrayList<>());
+
+        //then
+        assertEquals(0, result.getCount());
+        assertEquals(1, result.getProduct());
+        assertEquals(0.0, result.getMean());
+    }
+}
@@ -0,0 +1,49 @@
+package com.learnjava.parallelstreams;
+
+import com.learnjava.util.DataSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RopeJoiningCollectorTest {
+
+    @Test
+    void joining() {
+        assertEquals(CollectVsReduce.collect(), CollectVsReduce.collect_rope());
+    }
+
+    @Test
+    void joining_delimiterPrefixSuffix_parallel() {
+        //given
+        List<String> ids = DataSet.generateIntegerList(100000).stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+
+        //when
+        String result = ids.parallelStream().collect(RopeJoiningCollector.joining(",", "[", "]"));
+
+        //then
+        assertEquals(ids.stream().collect(Collectors.joining(",", "[", "]")), result);
+    }
+
+    @Test
+    void joining_empty() {
+        assertEquals("<>", Stream.<String>empty().collect(RopeJoiningCollector.joining(",", "<", ">")));
+    }
+
+    @Test
+    void joining_charSequences() {
+        //given
+        Stream<CharSequence> values = Stream.of(new StringBuilder("a"), "b", new StringBuilder("c"));
+
+        //when
+        String result = values.collect(RopeJoiningCollector.joining(" - "));
+
+        //then
+        assertEquals("a - b - c", result);
+    }
+}
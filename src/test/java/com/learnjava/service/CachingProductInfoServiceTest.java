@@ -0,0 +1,119 @@
+package com.learnjava.service;
+
+import com.learnjava.domain.Inventory;
+import com.learnjava.domain.ProductInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingProductInfoServiceTest {
+
+    AtomicInteger lookups = new AtomicInteger();
+    ProductInfoService productInfoService = new ProductInfoService() {
+        @Override
+        public ProductInfo retrieveProductInfo(String productId) {
+            lookups.incrementAndGet();
+            return super.retrieveProductInfo(productId);
+        }
+    };
+    CachingProductInfoService cachingProductInfoService =
+            new CachingProductInfoService(productInfoService, 100, Duration.ofMinutes(1));
+
+    @Test
+    void retrieveProductInfo_concurrentMisses() {
+        //given
+        String productId = "ABC123";
+
+        //when
+        List<ProductInfo> productInfos = IntStream.range(0, 20)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> cachingProductInfoService.retrieveProductInfo(productId),
+                        runnable -> new Thread(runnable).start()))
+                .toList()
+                .stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        //then
+        assertEquals(1, lookups.get());
+        assertEquals(20, productInfos.size());
+        productInfos.forEach(productInfo -> assertEquals(productInfos.get(0), productInfo));
+    }
+
+    @Test
+    void retrieveProductInfo_callersGetCopies() {
+        //given
+        ProductInfo first = cachingProductInfoService.retrieveProductInfo("ABC123");
+
+        //when
+        first.getProductOptions().get(0).setInventory(new Inventory(2));
+        ProductInfo second = cachingProductInfoService.retrieveProductInfo("ABC123");
+
+        //then
+        assertNotSame(first, second);
+        assertNull(second.getProductOptions().get(0).getInventory());
+    }
+
+    @Test
+    void retrieveProductInfo_errorCompletesLookup() {
+        //given
+        CachingProductInfoService failingService = new CachingProductInfoService(new ProductInfoService() {
+            @Override
+            public ProductInfo retrieveProductInfo(String productId) {
+                if (lookups.incrementAndGet() == 1) {
+                    throw new AssertionError("Error Occurred");
+                }
+                return super.retrieveProductInfo(productId);
+            }
+        }, 100, Duration.ofMinutes(1));
+
+        //when
+        assertThrows(AssertionError.class, () -> failingService.retrieveProductInfo("ABC123"));
+        ProductInfo productInfo = failingService.retrieveProductInfo("ABC123");
+
+        //then
+        assertNotNull(productInfo);
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void retrieveProductInfo_cached() {
+        //given
+        cachingProductInfoService.retrieveProductInfo("ABC123");
+
+        //when
+        ProductInfo productInfo = cachingProductInfoService.retrieveProductInfo("ABC123");
+
+        //then
+        assertEquals("ABC123", productInfo.getProductId());
+        assertEquals(1, lookups.get());
+        assertEquals(1, cachingProductInfoService.getProductInfoCache().hitCount());
+    }
+
+    @Test
+    void retrieveProductInfo_failureNotCached() {
+        //given
+        CachingProductInfoService failingService = new CachingProductInfoService(new ProductInfoService() {
+            @Override
+            public ProductInfo retrieveProductInfo(String productId) {
+                if (lookups.incrementAndGet() == 1) {
+                    throw new RuntimeException("Exception Occurred");
+                }
+                return super.retrieveProductInfo(productId);
+            }
+        }, 100, Duration.ofMinutes(1));
+
+        //when
+        assertThrows(RuntimeException.class, () -> failingService.retrieveProductInfo("ABC123"));
+        ProductInfo productInfo = failingService.retrieveProductInfo("ABC123");
+
+        //then
+        assertNotNull(productInfo);
+        assertEquals(2, lookups.get());
+    }
+}
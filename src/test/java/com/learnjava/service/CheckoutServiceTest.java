@@ -1,16 +1,32 @@
 package com.learnjava.service;
 
 import com.learnjava.domain.checkout.Cart;
+import com.learnjava.domain.checkout.CartItem;
 import com.learnjava.domain.checkout.CheckoutResponse;
 import com.learnjava.domain.checkout.CheckoutStatus;
 import com.learnjava.util.DataSet;
+import com.learnjava.util.LoggerUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CheckoutServiceTest {
     PriceValidatorService priceValidatorService = new PriceValidatorService();
     CheckoutService checkoutService = new CheckoutService(priceValidatorService);
+    ExecutorService validationExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (validationExecutor != null) {
+            validationExecutor.shutdownNow();
+        }
+    }
 
     @Test
     void numberOfCores() {
@@ -56,4 +72,173 @@ class CheckoutServiceTest {
         //then
         assertTrue(checkoutResponse.getFinalRate() > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkout_validationExecutor() {
+        //given
+        validationExecutor = CheckoutService.newValidationExecutor(8, 100);
+        CheckoutService executorCheckoutService = new CheckoutService(new PriceValidatorService(5), validationExecutor);
+        Cart cart = DataSet.createCart(25);
+        //when
+        CheckoutResponse checkoutResponse = executorCheckoutService.checkout(cart);
+        //then
+        assertEquals(CheckoutStatus.FAILURE, checkoutResponse.getCheckoutStatus());
+        assertEquals(3, checkoutResponse.getErrorList().size());
+    }
+
+    @Test
+    void checkout_validationExecutor_success() {
+        //given
+        validationExecutor = CheckoutService.newValidationExecutor(2, 1);
+        CheckoutService executorCheckoutService = new CheckoutService(new PriceValidatorService(1), validationExecutor);
+        Cart cart = DataSet.createCart(6);
+        //when
+        CheckoutResponse checkoutResponse = executorCheckoutService.checkout(cart);
+        //then
+        assertEquals(CheckoutStatus.SUCCESS, checkoutResponse.getCheckoutStatus());
+        assertTrue(checkoutResponse.getFinalRate() > 0);
+    }
+
+    @Test
+    void checkout_virtualThreads() {
+        //given
+        Cart cart = DataSet.createCart(25);
+        //when
+        CheckoutResponse checkoutResponse = checkoutService.checkout_virtualThreads(cart);
+        //then
+        assertEquals(CheckoutStatus.FAILURE, checkoutResponse.getCheckoutStatus());
+        assertEquals(3, checkoutResponse.getErrorList().size());
+    }
+
+    @Test
+    void checkout_virtualThreads_success() {
+        //given
+        Cart cart = DataSet.createCart(6);
+        //when
+        CheckoutResponse checkoutResponse = checkoutService.checkout_virtualThreads(cart);
+        //then
+        assertEquals(CheckoutStatus.SUCCESS, checkoutResponse.getCheckoutStatus());
+        assertTrue(checkoutResponse.getFinalRate() > 0);
+    }
+
+    @Test
+    void checkout_failFast() {
+        //given
+        AtomicInteger validatedItems = new AtomicInteger();
+        Cart cart = countingCart(200, validatedItems);
+        validationExecutor = CheckoutService.newValidationExecutor(10, 1000);
+        CheckoutService failFastCheckoutService = new CheckoutService(new PriceValidatorService(1, 200), validationExecutor);
+        //when
+        CheckoutResponse checkoutResponse = failFastCheckoutService.checkout_failFast(cart, 1);
+        //then
+        assertEquals(CheckoutStatus.FAILURE, checkoutResponse.getCheckoutStatus());
+        assertFalse(checkoutResponse.getErrorList().isEmpty());
+        // item 7 is in the first round of 10 batches, the queued ones are cancelled once it is found
+        assertTrue(validatedItems.get() < 50, "validated : " + validatedItems.get());
+    }
+
+    @Test
+    void checkout_failFast_callerRuns() {
+        //given
+        AtomicInteger validatedItems = new AtomicInteger();
+        Cart cart = countingCart(40, validatedItems);
+        validationExecutor = CheckoutService.newValidationExecutor(1, 1);
+        CheckoutService failFastCheckoutService = new CheckoutService(new PriceValidatorService(1, 100), validationExecutor);
+        //when
+        CheckoutResponse checkoutResponse = failFastCheckoutService.checkout_failFast(cart, 1);
+        //then
+        assertEquals(CheckoutStatus.FAILURE, checkoutResponse.getCheckoutStatus());
+        // submitting all 40 batches first would run most of them on the caller before item 7 is seen
+        assertTrue(validatedItems.get() < 20, "validated : " + validatedItems.get());
+    }
+
+    @Test
+    void checkout_failFast_allInvalidItems() {
+        //given
+        Cart cart = DataSet.createCart(12);
+        CheckoutService failFastCheckoutService = new CheckoutService(new PriceValidatorService(2, 10));
+        //when
+        CheckoutResponse checkoutResponse = failFastCheckoutService.checkout_failFast(cart, 5);
+        //then
+        assertEquals(CheckoutStatus.FAILURE, checkoutResponse.getCheckoutStatus());
+        assertEquals(3, checkoutResponse.getErrorList().size());
+    }
+
+    @Test
+    void checkout_failFast_success() {
+        //given
+        Cart cart = DataSet.createCart(6);
+        CheckoutService failFastCheckoutService = new CheckoutService(new PriceValidatorService(2, 10));
+        //when
+        CheckoutResponse checkoutResponse = failFastCheckoutService.checkout_failFast(cart, 1);
+        //then
+        assertEquals(CheckoutStatus.SUCCESS, checkoutResponse.getCheckoutStatus());
+    }
+
+    @Test
+    void checkout_throughput_10_items() {
+        compareThroughput(10);
+    }
+
+    @Test
+    void checkout_throughput_100_items() {
+        compareThroughput(100);
+    }
+
+    @Test
+    void checkout_throughput_1000_items() {
+        compareThroughput(1000);
+    }
+
+    // 10000 validations of 1ms on a thread per core take seconds, run with ./gradlew test -PslowTests
+    @Test
+    @Tag("slow")
+    void checkout_throughput_10000_items() {
+        compareThroughput(10000);
+    }
+
+    // One blocking validation per item, on the common pool's threads vs a virtual thread each. The 1ms
+    // validator latency keeps the parallelStream runs short, they only get about one thread per core.
+    // From 1000 items on, far more than any machine's cores, the virtual threads must finish first.
+    private void compareThroughput(int noOfItems) {
+        PriceValidatorService fastPriceValidatorService =
+                new PriceValidatorService(PriceValidatorService.DEFAULT_MAX_BATCH_SIZE, 1);
+        CheckoutService fastCheckoutService = new CheckoutService(fastPriceValidatorService);
+
+        Cart parallelStreamCart = DataSet.createCart(noOfItems);
+        long start = System.nanoTime();
+        List<CartItem> parallelStreamInvalidItems = parallelStreamCart.getCartItemList()
+                .parallelStream()
+                .filter(fastPriceValidatorService::isCartItemInvalid)
+                .toList();
+        long parallelStreamTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        CheckoutResponse virtualThreadsResponse = fastCheckoutService.checkout_virtualThreads(DataSet.createCart(noOfItems));
+        long virtualThreadsTime = System.nanoTime() - start;
+
+        LoggerUtil.log(String.format("%d items -> parallelStream : %.0f items/sec, virtualThreads : %.0f items/sec", noOfItems,
+                noOfItems * 1e9 / parallelStreamTime, noOfItems * 1e9 / virtualThreadsTime));
+        assertEquals(parallelStreamInvalidItems.size(), virtualThreadsResponse.getErrorList().size());
+        if (noOfItems >= 1000) {
+            assertTrue(virtualThreadsTime < parallelStreamTime,
+                    "virtualThreads : " + virtualThreadsTime + "ns, parallelStream : " + parallelStreamTime + "ns");
+        }
+    }
+
+    // every validated item gets its expired flag set, so the count shows how far validation got
+    private static Cart countingCart(int noOfItems, AtomicInteger validatedItems) {
+        Cart cart = DataSet.createCart(noOfItems);
+        cart.setCartItemList(cart.getCartItemList().stream()
+                .<CartItem>map(cartItem -> new CartItem(cartItem.getItemId(), cartItem.getItemName(),
+                        cartItem.getRate(), cartItem.getQuantity(), false) {
+                    @Override
+                    public void setExpired(boolean isExpired) {
+                        validatedItems.incrementAndGet();
+                        super.setExpired(isExpired);
+                    }
+                })
+                .toList());
+        return cart;
+    }
+}
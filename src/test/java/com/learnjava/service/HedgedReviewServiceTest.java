@@ -0,0 +1,105 @@
+package com.learnjava.service;
+
+import com.learnjava.domain.Review;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.learnjava.util.CommonUtil.delay;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedReviewServiceTest {
+
+    AtomicInteger calls = new AtomicInteger();
+
+    // the first call is stuck for 2 seconds, every other call answers in 10ms
+    ReviewService slowFirstCallReviewService = new ReviewService() {
+        @Override
+        public Review retrieveReviews(String productId) {
+            delay(calls.incrementAndGet() == 1 ? 2000 : 10);
+            return new Review(200, 4.5);
+        }
+    };
+
+    @Test
+    void retrieveReviews_hedged() {
+        //given
+        try (HedgedReviewService hedgedReviewService =
+                     new HedgedReviewService(slowFirstCallReviewService, 95, 1.0, Duration.ofMillis(100))) {
+
+            //when
+            long start = System.nanoTime();
+            Review review = hedgedReviewService.retrieveReviews("ABC123");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            //then
+            assertEquals(200, review.getNoOfReviews());
+            assertTrue(elapsedMillis < 1000);
+            assertEquals(1, hedgedReviewService.hedgeCount());
+            assertEquals(1, hedgedReviewService.hedgeWinCount());
+            assertEquals(1.0, hedgedReviewService.hedgeWinRatio());
+            for (int i = 0; i < 100 && hedgedReviewService.censoredSampleCount() == 0; i++) {
+                delay(10); // the cancelled primary records its sample on its own thread
+            }
+            assertEquals(1, hedgedReviewService.censoredSampleCount());
+        }
+    }
+
+    @Test
+    void close_leavesCallerExecutorRunning() {
+        //given
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        HedgedReviewService hedgedReviewService =
+                new HedgedReviewService(slowFirstCallReviewService, 95, 0.0, Duration.ofMillis(100), executorService);
+
+        //when
+        hedgedReviewService.close();
+
+        //then
+        assertFalse(executorService.isShutdown());
+        executorService.shutdown();
+    }
+
+    @Test
+    void retrieveReviews_notHedgedWhenFast() {
+        //given
+        try (HedgedReviewService hedgedReviewService =
+                     new HedgedReviewService(new ReviewService() {
+                         @Override
+                         public Review retrieveReviews(String productId) {
+                             delay(10);
+                             return new Review(200, 4.5);
+                         }
+                     }, 95, 1.0, Duration.ofMillis(500))) {
+
+            //when
+            for (int i = 0; i < HedgedReviewService.MIN_SAMPLES; i++) {
+                hedgedReviewService.retrieveReviews("ABC123");
+            }
+
+            //then
+            assertEquals(HedgedReviewService.MIN_SAMPLES, hedgedReviewService.requestCount());
+            assertEquals(0, hedgedReviewService.hedgeCount());
+            assertTrue(hedgedReviewService.hedgeDelayNanos() < Duration.ofMillis(500).toNanos());
+        }
+    }
+
+    @Test
+    void retrieveReviews_hedgeRateCapped() {
+        //given
+        try (HedgedReviewService hedgedReviewService =
+                     new HedgedReviewService(slowFirstCallReviewService, 95, 0.0, Duration.ofMillis(100))) {
+
+            //when
+            Review review = hedgedReviewService.retrieveReviews("ABC123");
+
+            //then
+            assertNotNull(review);
+            assertEquals(0, hedgedReviewService.hedgeCount());
+            assertEquals(1, calls.get());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.learnjava.service;
+
+import com.learnjava.domain.Inventory;
+import com.learnjava.domain.ProductInfo;
+import com.learnjava.domain.ProductOption;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryServiceTest {
+
+    InventoryService inventoryService = new InventoryService();
+    ProductInfoService productInfoService = new ProductInfoService();
+
+    @Test
+    void addInventory_batch() {
+        //given
+        List<ProductOption> productOptions = IntStream.rangeClosed(1, 30)
+                .mapToObj(i -> new ProductOption(i, "size " + i, "Black", 10.0))
+                .toList();
+
+        //when
+        long start = System.nanoTime();
+        List<Inventory> inventories = inventoryService.addInventory_batch(productOptions);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        //then
+        assertEquals(30, inventories.size());
+        assertTrue(elapsedMillis < 1000);
+    }
+
+    @Test
+    void addInventoryToProducts() {
+        //given
+        List<ProductInfo> productInfos = List.of(productInfoService.retrieveProductInfo("ABC123"),
+                productInfoService.retrieveProductInfo("DEF456"));
+
+        //when
+        List<ProductInfo> result = inventoryService.addInventoryToProducts(productInfos);
+
+        //then
+        assertEquals(2, result.size());
+        result.forEach(productInfo -> productInfo.getProductOptions()
+                .forEach(productOption -> assertEquals(2, productOption.getInventory().getCount())));
+    }
+}
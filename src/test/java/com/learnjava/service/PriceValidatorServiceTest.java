@@ -0,0 +1,81 @@
+package com.learnjava.service;
+
+import com.learnjava.domain.checkout.CartItem;
+import com.learnjava.util.DataSet;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceValidatorServiceTest {
+
+    @Test
+    void validateAll() {
+        //given
+        PriceValidatorService priceValidatorService = new PriceValidatorService(4);
+        List<CartItem> cartItems = DataSet.createCart(25).getCartItemList();
+
+        //when
+        List<CartItem> invalidItems = priceValidatorService.validateAll(cartItems);
+
+        //then
+        assertEquals(List.of(7, 9, 11), invalidItems.stream().map(CartItem::getItemId).toList());
+        assertEquals(3, cartItems.stream().filter(CartItem::isExpired).count());
+    }
+
+    @Test
+    void validateAll_emptyList() {
+        //given
+        PriceValidatorService priceValidatorService = new PriceValidatorService();
+
+        //when
+        List<CartItem> invalidItems = priceValidatorService.validateAll(List.of());
+
+        //then
+        assertTrue(invalidItems.isEmpty());
+    }
+
+    @Test
+    void invalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PriceValidatorService(0));
+    }
+
+    @Test
+    void validateAll_cached() {
+        //given
+        CachingPriceValidatorService cachingPriceValidatorService =
+                new CachingPriceValidatorService(new PriceValidatorService(5), 100, Duration.ofMinutes(1));
+        List<CartItem> cartItems = DataSet.createCart(10).getCartItemList();
+        cachingPriceValidatorService.validateAll(cartItems);
+
+        //when
+        List<CartItem> invalidItems = cachingPriceValidatorService.validateAll(cartItems);
+
+        //then
+        assertEquals(List.of(7, 9), invalidItems.stream().map(CartItem::getItemId).toList());
+        assertEquals(10, cachingPriceValidatorService.getValidationCache().hitCount());
+        assertEquals(10, cachingPriceValidatorService.getValidationCache().missCount());
+    }
+
+    @Test
+    void validateAll_failFast_cached() {
+        //given
+        CachingPriceValidatorService cachingPriceValidatorService =
+                new CachingPriceValidatorService(new PriceValidatorService(5, 10), 100, Duration.ofMinutes(1));
+        List<CartItem> cartItems = DataSet.createCart(10).getCartItemList();
+        cachingPriceValidatorService.validateAll(cartItems);
+        List<CartItem> moreCartItems = new ArrayList<>(cartItems);
+        moreCartItems.addAll(DataSet.createCart(20).getCartItemList().subList(10, 20));
+
+        //when
+        List<CartItem> invalidItems = cachingPriceValidatorService.validateAll_failFast(moreCartItems, Runnable::run, 2);
+
+        //then
+        assertEquals(List.of(7, 9), invalidItems.stream().map(CartItem::getItemId).toList());
+        assertFalse(moreCartItems.get(10).isExpired()); // item 11 is invalid but was never validated
+        assertEquals(10, cachingPriceValidatorService.getValidationCache().size());
+    }
+}
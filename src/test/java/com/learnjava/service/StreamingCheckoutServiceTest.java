@@ -0,0 +1,90 @@
+package com.learnjava.service;
+
+import com.learnjava.domain.checkout.Cart;
+import com.learnjava.domain.checkout.CheckoutStatus;
+import com.learnjava.util.DataSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.learnjava.util.CommonUtil.delay;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingCheckoutServiceTest {
+
+    CheckoutService checkoutService = new CheckoutService(new PriceValidatorService(50, 10));
+    StreamingCheckoutService streamingCheckoutService = new StreamingCheckoutService(checkoutService, 8, 2, 4);
+
+    @AfterEach
+    void tearDown() {
+        streamingCheckoutService.close();
+    }
+
+    @Test
+    void checkoutAll() {
+        //given
+        int noOfCarts = 200;
+        ConcurrentHashMap<CheckoutStatus, AtomicInteger> statusCounts = new ConcurrentHashMap<>();
+
+        //when
+        StreamingCheckoutService.CheckoutSummary checkoutSummary = streamingCheckoutService.checkoutAll(
+                IntStream.rangeClosed(1, noOfCarts).mapToObj(index -> DataSet.createCart(index % 2 == 0 ? 6 : 10)),
+                checkoutResult -> statusCounts.computeIfAbsent(checkoutResult.checkoutResponse().getCheckoutStatus(),
+                        status -> new AtomicInteger()).incrementAndGet());
+
+        //then
+        assertEquals(noOfCarts, checkoutSummary.completedCount());
+        assertEquals(100, statusCounts.get(CheckoutStatus.SUCCESS).get());
+        assertEquals(100, statusCounts.get(CheckoutStatus.FAILURE).get());
+    }
+
+    @Test
+    void checkoutAll_slowConsumer_boundsCartsInFlight() {
+        //given
+        int noOfCarts = 100;
+
+        //when
+        StreamingCheckoutService.CheckoutSummary checkoutSummary = streamingCheckoutService.checkoutAll(
+                IntStream.rangeClosed(1, noOfCarts).mapToObj(index -> DataSet.createCart(5)),
+                checkoutResult -> delay(5));
+
+        //then
+        assertEquals(noOfCarts, checkoutSummary.completedCount());
+        // three stage buffers of 4, plus the carts being validated and priced, plus the one being submitted
+        assertTrue(checkoutSummary.maxInFlight() <= 3 * 4 + 8 + 2 + 2, "maxInFlight : " + checkoutSummary.maxInFlight());
+    }
+
+    @Test
+    void checkoutAll_concurrentCalls_separateCounts() {
+        //given
+        CompletableFuture<StreamingCheckoutService.CheckoutSummary> first = CompletableFuture.supplyAsync(() ->
+                streamingCheckoutService.checkoutAll(IntStream.range(0, 30).mapToObj(index -> DataSet.createCart(5)),
+                        checkoutResult -> delay(5)), runnable -> new Thread(runnable).start());
+
+        //when
+        StreamingCheckoutService.CheckoutSummary second = streamingCheckoutService.checkoutAll(
+                IntStream.range(0, 20).mapToObj(index -> DataSet.createCart(5)), checkoutResult -> delay(5));
+
+        //then
+        assertEquals(30, first.join().completedCount());
+        assertEquals(20, second.completedCount());
+        assertTrue(second.maxInFlight() <= 3 * 4 + 8 + 2 + 2, "maxInFlight : " + second.maxInFlight());
+    }
+
+    @Test
+    void checkoutAll_stageFailure() {
+        //given
+        List<Cart> carts = List.of(DataSet.createCart(3), new Cart(), DataSet.createCart(3));
+
+        //then
+        assertThrows(CompletionException.class,
+                () -> streamingCheckoutService.checkoutAll(carts.stream(), checkoutResult -> {
+                }));
+    }
+}
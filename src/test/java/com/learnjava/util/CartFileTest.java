@@ -0,0 +1,180 @@
+package com.learnjava.util;
+
+import com.learnjava.domain.checkout.Cart;
+import com.learnjava.domain.checkout.CartItem;
+import com.learnjava.domain.checkout.CheckoutResponse;
+import com.learnjava.domain.checkout.CheckoutStatus;
+import com.learnjava.domain.checkout.ColumnarCart;
+import com.learnjava.service.CachingPriceValidatorService;
+import com.learnjava.service.CheckoutService;
+import com.learnjava.service.PriceValidatorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartFileTest {
+
+    Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("cart", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void writeAndRead() throws IOException {
+        //given
+        Cart cart = DataSet.createCart(100);
+        cart.setCardId(7);
+        cart.getCartItemList().get(3).setExpired(true);
+
+        //when
+        CartFileWriter.write(path, cart);
+
+        //then
+        try (CartFile cartFile = CartFile.open(path)) {
+            assertEquals(7, cartFile.getCardId());
+            assertEquals(100, cartFile.size());
+            for (int i = 0; i < 100; i++) {
+                CartItem expected = cart.getCartItemList().get(i);
+                CartItem actual = cartFile.cartItem(i);
+                assertEquals(expected.getItemId(), actual.getItemId());
+                assertEquals(expected.getItemName(), actual.getItemName());
+                assertEquals(expected.getRate(), actual.getRate());
+                assertEquals(expected.getQuantity(), actual.getQuantity());
+                assertEquals(expected.isExpired(), actual.isExpired());
+            }
+            assertEquals(ColumnarCart.of(cart).totalPrice(false), cartFile.totalPrice(false), 0.0001);
+        }
+    }
+
+    @Test
+    void read_smallSegments() throws IOException {
+        //given
+        DataSet.writeCartFile(path, 1000, 42L);
+
+        //when
+        try (CartFile cartFile = CartFile.open(path, 64); CartFile wholeFile = CartFile.open(path)) {
+
+            //then
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("CartItem -" + (i + 1), cartFile.itemName(i));
+                assertEquals(wholeFile.rate(i), cartFile.rate(i));
+            }
+            assertEquals(wholeFile.totalPrice(false), cartFile.totalPrice(true), 0.0001);
+        }
+    }
+
+    @Test
+    void writeCartFile_reproducible() throws IOException {
+        //given
+        Path other = Files.createTempFile("cart", ".bin");
+
+        //when
+        DataSet.writeCartFile(path, 500, 42L);
+        DataSet.writeCartFile(other, 500, 42L);
+
+        //then
+        assertEquals(-1L, Files.mismatch(path, other));
+        Files.delete(other);
+    }
+
+    @Test
+    void checkout_cartFile() throws IOException {
+        //given
+        DataSet.writeCartFile(path, 6, 42L);
+        CheckoutService checkoutService = new CheckoutService(new PriceValidatorService(2, 10));
+
+        try (CartFile cartFile = CartFile.open(path)) {
+            //when
+            CheckoutResponse checkoutResponse = checkoutService.checkout(cartFile.asCart());
+
+            //then
+            assertEquals(CheckoutStatus.SUCCESS, checkoutResponse.getCheckoutStatus());
+            assertEquals(cartFile.totalPrice(false), checkoutResponse.getFinalRate(), 0.0001);
+        }
+    }
+
+    @Test
+    void checkout_cartFile_invalidItems() throws IOException {
+        //given
+        DataSet.writeCartFile(path, 12, 42L);
+        CheckoutService checkoutService = new CheckoutService(new PriceValidatorService(4, 10));
+
+        try (CartFile cartFile = CartFile.open(path)) {
+            //when
+            CheckoutResponse checkoutResponse = checkoutService.checkout(cartFile.asCart());
+
+            //then
+            assertEquals(CheckoutStatus.FAILURE, checkoutResponse.getCheckoutStatus());
+            assertEquals(List.of(7, 9, 11), checkoutResponse.getErrorList().stream().map(CartItem::getItemId).toList());
+        }
+    }
+
+    @Test
+    void checkout_cartFile_invalidItems_cachingValidator() throws IOException {
+        //given
+        DataSet.writeCartFile(path, 12, 42L);
+        CheckoutService checkoutService = new CheckoutService(
+                new CachingPriceValidatorService(new PriceValidatorService(4, 10), 100, Duration.ofMinutes(1)));
+
+        try (CartFile cartFile = CartFile.open(path)) {
+            Cart cart = cartFile.asCart();
+
+            //when
+            CheckoutResponse checkoutResponse = checkoutService.checkout(cart);
+
+            //then
+            assertEquals(CheckoutStatus.FAILURE, checkoutResponse.getCheckoutStatus());
+            assertEquals(List.of(7, 9, 11), checkoutResponse.getErrorList().stream().map(CartItem::getItemId).toList());
+            assertTrue(cart.getCartItemList().get(6).isExpired());
+            assertFalse(cart.getCartItemList().get(5).isExpired());
+        }
+    }
+
+    @Test
+    void cartItemList_expiredStateKeptPerIndex() throws IOException {
+        //given
+        Cart cart = DataSet.createCart(130);
+        cart.getCartItemList().get(70).setExpired(true);
+        CartFileWriter.write(path, cart);
+
+        try (CartFile cartFile = CartFile.open(path)) {
+            List<CartItem> cartItems = cartFile.asCart().getCartItemList();
+
+            //when
+            cartItems.get(3).setExpired(true);
+            cartItems.get(70).setExpired(false);
+            cartItems.get(129).setExpired(true);
+
+            //then
+            assertTrue(cartItems.get(3).isExpired());
+            assertFalse(cartItems.get(70).isExpired());
+            assertTrue(cartItems.get(129).isExpired());
+            assertFalse(cartItems.get(4).isExpired());
+            assertTrue(cartFile.isExpired(70)); // the file itself is read only
+        }
+    }
+
+    @Test
+    void open_notACartFile() throws IOException {
+        //given
+        Files.writeString(path, "not a cart");
+
+        //then
+        assertThrows(IOException.class, () -> CartFile.open(path));
+    }
+}
@@ -0,0 +1,54 @@
+package com.learnjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntListTest {
+
+    @Test
+    void add_get() {
+        //given
+        IntList intList = new IntList(2);
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            intList.add(i * 3);
+        }
+
+        //then
+        assertEquals(100, intList.size());
+        assertEquals(297, intList.get(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> intList.get(100));
+    }
+
+    @Test
+    void parallelStream_sum() {
+        //given
+        IntList intList = DataSet.generateIntList(1000000);
+
+        //when
+        long sum = intList.parallelStream().asLongStream().sum();
+
+        //then
+        assertEquals(500000500000L, sum);
+        assertEquals(intList.stream().sum(), intList.parallelStream().sum());
+    }
+
+    @Test
+    void spliterator_splitsInHalf() {
+        //given
+        IntList intList = DataSet.generateIntList(1000);
+
+        //when
+        Spliterator.OfInt suffix = intList.spliterator();
+        Spliterator.OfInt prefix = suffix.trySplit();
+
+        //then
+        assertEquals(500, prefix.getExactSizeIfKnown());
+        assertEquals(500, suffix.getExactSizeIfKnown());
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+    }
+}
@@ -0,0 +1,56 @@
+package com.learnjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntSetTest {
+
+    @Test
+    void add_contains() {
+        //given
+        IntSet intSet = new IntSet();
+
+        //when
+        boolean added = intSet.add(0) & intSet.add(-5) & intSet.add(42);
+
+        //then
+        assertTrue(added);
+        assertFalse(intSet.add(42));
+        assertTrue(intSet.contains(0));
+        assertTrue(intSet.contains(-5));
+        assertFalse(intSet.contains(7));
+        assertEquals(3, intSet.size());
+    }
+
+    @Test
+    void parallelStream() {
+        //given
+        IntSet intSet = DataSet.generateIntSet(100000);
+        intSet.add(0);
+
+        //when
+        int[] values = intSet.parallelStream().sorted().toArray();
+
+        //then
+        assertEquals(100001, intSet.size());
+        assertArrayEquals(IntStream.rangeClosed(0, 100000).toArray(), values);
+    }
+
+    @Test
+    void stream_sequential() {
+        //given
+        IntSet intSet = new IntSet();
+        IntStream.of(5, 3, 5, 9, 3).forEach(intSet::add);
+
+        //when
+        int[] values = intSet.toArray();
+        Arrays.sort(values);
+
+        //then
+        assertArrayEquals(new int[]{3, 5, 9}, values);
+    }
+}
@@ -0,0 +1,67 @@
+package com.learnjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentiles() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        //when
+        IntStream.rangeClosed(1, 1000).forEach(i -> histogram.record(i * 1000L));
+
+        //then
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        assertEquals(500_000, histogram.percentile(50), 500_000 * 0.07);
+        assertEquals(900_000, histogram.percentile(90), 900_000 * 0.07);
+        assertEquals(990_000, histogram.percentile(99), 990_000 * 0.07);
+    }
+
+    @Test
+    void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(99));
+    }
+
+    @Test
+    void bucketBounds() {
+        IntStream.of(0, 1, 15, 16, 31, 32, 33, 1000, 123_456_789).forEach(value -> {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.bucketUpperBound(index - 1) < value);
+        });
+        assertTrue(LatencyHistogram.bucketIndex(Long.MAX_VALUE) < 960);
+    }
+
+    @Test
+    void concurrentTimers() {
+        //given
+        LatencyTimer timer = LatencyTimers.timer("latencyHistogramTest.concurrentTimers");
+
+        //when
+        CompletableFuture<?>[] calls = IntStream.range(0, 20)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    long startToken = timer.start();
+                    CommonUtil.delay(10);
+                    timer.stop(startToken);
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(calls).join();
+
+        //then
+        LatencySnapshot snapshot = timer.snapshot();
+        assertEquals(20, snapshot.count());
+        assertTrue(snapshot.p50() >= 10_000_000);
+        assertTrue(LatencyTimers.snapshots().contains(snapshot));
+    }
+}
@@ -0,0 +1,79 @@
+package com.learnjava.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggerUtilTest {
+
+    @AfterEach
+    void tearDown() {
+        LoggerUtil.disableAsync();
+        LoggerUtil.setLevel(LoggerUtil.Level.INFO);
+    }
+
+    @Test
+    void log_async() {
+        //given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LoggerUtil.enableAsync(Channels.newChannel(output));
+
+        //when
+        IntStream.range(0, 1000).parallel().forEach(i -> LoggerUtil.log("message " + i));
+        LoggerUtil.flush();
+
+        //then
+        String logged = output.toString();
+        assertEquals(1000, logged.lines().count());
+        assertTrue(logged.lines().allMatch(line -> line.startsWith("[") && line.contains("] - message ")));
+    }
+
+    @Test
+    void log_afterClose_refused() {
+        //given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        AsyncLogWriter asyncLogWriter = new AsyncLogWriter(Channels.newChannel(output));
+        assertTrue(asyncLogWriter.log("main", "before close"));
+
+        //when
+        asyncLogWriter.close();
+        boolean accepted = asyncLogWriter.log("main", "after close");
+
+        //then
+        assertFalse(accepted);
+        assertEquals(1, output.toString().lines().count());
+    }
+
+    @Test
+    void debug_disabled() {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+
+        //when
+        LoggerUtil.debug(() -> "expensive " + calls.incrementAndGet());
+
+        //then
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void debug_enabled() {
+        //given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LoggerUtil.enableAsync(Channels.newChannel(output));
+        LoggerUtil.setLevel(LoggerUtil.Level.DEBUG);
+
+        //when
+        LoggerUtil.debug(() -> "debug message");
+        LoggerUtil.disableAsync();
+
+        //then
+        assertTrue(output.toString().contains("] - debug message"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.learnjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    void offerAndPoll() {
+        //given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(2);
+
+        //when
+        boolean first = buffer.offer(1);
+        boolean second = buffer.offer(2);
+        boolean full = buffer.offer(3);
+
+        //then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(full);
+        assertEquals(1, buffer.poll());
+        assertTrue(buffer.offer(3));
+        assertEquals(2, buffer.poll());
+        assertEquals(3, buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void multipleProducers() {
+        //given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+        int noOfProducers = 4;
+        int perProducer = 10_000;
+        List<Integer> consumed = new ArrayList<>();
+
+        //when
+        CompletableFuture<?>[] producers = IntStream.range(0, noOfProducers)
+                .mapToObj(producer -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(producer * perProducer + i)) {
+                            Thread.yield();
+                        }
+                    }
+                }, runnable -> new Thread(runnable).start()))
+                .toArray(CompletableFuture[]::new);
+        while (consumed.size() < noOfProducers * perProducer) {
+            buffer.drain(consumed::add, 100);
+        }
+        CompletableFuture.allOf(producers).join();
+
+        //then
+        assertEquals(noOfProducers * perProducer, consumed.stream().distinct().count());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void capacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(10));
+    }
+}
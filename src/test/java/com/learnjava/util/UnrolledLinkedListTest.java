@@ -0,0 +1,79 @@
+package com.learnjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnrolledLinkedListTest {
+
+    @Test
+    void insertAndRemove_matchesArrayList() {
+        //given
+        UnrolledLinkedList<Integer> unrolledLinkedList = new UnrolledLinkedList<>(8);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        //when
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), unrolledLinkedList.remove(index));
+            } else if (operation == 1) {
+                expected.add(i);
+                unrolledLinkedList.add(i);
+            } else {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                unrolledLinkedList.add(index, i);
+            }
+        }
+
+        //then
+        assertEquals(expected, unrolledLinkedList);
+        assertEquals(expected, unrolledLinkedList.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void iteratorRemove() {
+        //given
+        UnrolledLinkedList<Integer> unrolledLinkedList = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 20; i++) {
+            unrolledLinkedList.add(i);
+        }
+
+        //when
+        unrolledLinkedList.removeIf(value -> value % 3 != 0);
+
+        //then
+        assertEquals(List.of(0, 3, 6, 9, 12, 15, 18), unrolledLinkedList);
+        Iterator<Integer> iterator = unrolledLinkedList.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    @Test
+    void spliterator_splitsOnChunksWithExactSize() {
+        //given
+        UnrolledLinkedList<Integer> unrolledLinkedList = DataSet.generateIntegerUnrolledLinkedList(1000);
+
+        //when
+        Spliterator<Integer> suffix = unrolledLinkedList.spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+
+        //then
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(1000, prefix.getExactSizeIfKnown() + suffix.getExactSizeIfKnown());
+        assertEquals(0, prefix.getExactSizeIfKnown() % UnrolledLinkedList.DEFAULT_CHUNK_CAPACITY);
+        List<Integer> values = new ArrayList<>();
+        prefix.forEachRemaining(values::add);
+        suffix.forEachRemaining(values::add);
+        assertEquals(DataSet.generateIntegerList(1000), values);
+    }
+}